@@ -0,0 +1,95 @@
+package com.qacm.test.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the JSON serialization of the {@link Post} and {@link Comment} entities, with their embedded creator summary
+ * and post, using an {@link ObjectMapper} configured like the application one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntitySerializationBenchmark {
+
+    private ObjectWriter postWriter;
+
+    private ObjectReader postReader;
+
+    private ObjectWriter commentWriter;
+
+    private ObjectReader commentReader;
+
+    private Post post;
+
+    private Comment comment;
+
+    private byte[] postJson;
+
+    private byte[] commentJson;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule(), new Jdk8Module()).build();
+        postWriter = mapper.writerFor(Post.class);
+        postReader = mapper.readerFor(Post.class);
+        commentWriter = mapper.writerFor(Comment.class);
+        commentReader = mapper.readerFor(Comment.class);
+        post =
+            new Post()
+                .id("62a1b2c3d4e5f60718293a4b")
+                .title("A title long enough to look like the title of a real post")
+                .required("required")
+                .creationDate(LocalDate.of(2022, 4, 1))
+                .creator(new UserSummary().id("user-1").login("user").firstName("John").lastName("Doe"))
+                .version(3L);
+        comment =
+            new Comment()
+                .id("62a1b2c3d4e5f60718293a4c")
+                .text("A comment of a few words, a bit longer than the title of its post")
+                .creaionDate(LocalDate.of(2022, 4, 2))
+                .post(post)
+                .version(1L);
+        postJson = postWriter.writeValueAsBytes(post);
+        commentJson = commentWriter.writeValueAsBytes(comment);
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws Exception {
+        return postWriter.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public Post deserializePost() throws Exception {
+        return postReader.readValue(postJson);
+    }
+
+    @Benchmark
+    public byte[] serializeComment() throws Exception {
+        return commentWriter.writeValueAsBytes(comment);
+    }
+
+    @Benchmark
+    public Comment deserializeComment() throws Exception {
+        return commentReader.readValue(commentJson);
+    }
+}
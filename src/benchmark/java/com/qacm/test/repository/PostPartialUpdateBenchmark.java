@@ -0,0 +1,61 @@
+package com.qacm.test.repository;
+
+import com.qacm.test.domain.Post;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+/**
+ * Benchmark of the merge of a partial update of a {@link Post}: the update of its non-null fields, mapped to the MongoDB
+ * update document sent by the {@code findAndModify} command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostPartialUpdateBenchmark {
+
+    private UpdateMapper updateMapper;
+
+    private MongoPersistentEntity<?> persistentEntity;
+
+    private Post post;
+
+    @Setup
+    public void setup() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        updateMapper = new UpdateMapper(converter);
+        persistentEntity = mappingContext.getRequiredPersistentEntity(Post.class);
+        post = new Post().id("62a1b2c3d4e5f60718293a4b").title("An updated title").creationDate(LocalDate.of(2022, 4, 1)).version(3L);
+    }
+
+    @Benchmark
+    public Document partialUpdate() {
+        return updateMapper.getMappedObject(PostRepositoryInternalImpl.toPartialUpdate(post).getUpdateObject(), persistentEntity);
+    }
+}
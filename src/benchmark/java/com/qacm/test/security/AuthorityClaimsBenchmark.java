@@ -0,0 +1,44 @@
+package com.qacm.test.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Benchmark of the extraction of the authorities from the claims of an OAuth 2.0 token, with {@link SecurityUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityClaimsBenchmark {
+
+    private final Map<String, Object> groupsClaims = Map.of(
+        "groups",
+        List.of("ROLE_USER", "ROLE_ADMIN", "offline_access", "uma_authorization")
+    );
+
+    private final Map<String, Object> namespacedRolesClaims = Map.of(SecurityUtils.CLAIMS_NAMESPACE + "roles", List.of("ROLE_USER"));
+
+    @Benchmark
+    public List<GrantedAuthority> extractAuthorityFromGroups() {
+        return SecurityUtils.extractAuthorityFromClaims(groupsClaims);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> extractAuthorityFromNamespacedRoles() {
+        return SecurityUtils.extractAuthorityFromClaims(namespacedRolesClaims);
+    }
+}
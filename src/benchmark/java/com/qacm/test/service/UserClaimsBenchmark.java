@@ -0,0 +1,60 @@
+package com.qacm.test.service;
+
+import com.qacm.test.domain.User;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the mapping of the claims of an OAuth 2.0 token to the {@link User} synchronized from the identity provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserClaimsBenchmark {
+
+    private final Map<String, Object> oidcClaims = Map.of(
+        "sub",
+        "8e3a6c1b-2f4d-4c7e-9a0b-1d2e3f4a5b6c",
+        "preferred_username",
+        "John.Doe",
+        "given_name",
+        "John",
+        "family_name",
+        "Doe",
+        "email",
+        "John.Doe@example.com",
+        "email_verified",
+        true,
+        "locale",
+        "en-US",
+        "picture",
+        "https://example.com/john.doe.png",
+        "groups",
+        List.of("ROLE_USER", "ROLE_ADMIN", "offline_access")
+    );
+
+    private final Map<String, Object> jwtClaims = Map.of("sub", "auth0|john.doe@example.com", "uid", "00u1a2b3c4d5e6f7g8h9");
+
+    @Benchmark
+    public User getUserFromOidcClaims() {
+        return UserService.getUser(oidcClaims);
+    }
+
+    @Benchmark
+    public User getUserFromJwtClaims() {
+        return UserService.getUser(jwtClaims);
+    }
+}
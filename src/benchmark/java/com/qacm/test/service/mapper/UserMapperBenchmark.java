@@ -0,0 +1,82 @@
+package com.qacm.test.service.mapper;
+
+import com.qacm.test.domain.Authority;
+import com.qacm.test.domain.User;
+import com.qacm.test.service.dto.AdminUserDTO;
+import com.qacm.test.service.dto.UserDTO;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the conversions of {@link UserMapper} between the {@link User} entity and its DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private User user;
+
+    private AdminUserDTO adminUserDTO;
+
+    @Setup
+    public void setup() {
+        user = new User();
+        user.setId("8e3a6c1b-2f4d-4c7e-9a0b-1d2e3f4a5b6c");
+        user.setLogin("john.doe");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@example.com");
+        user.setImageUrl("https://example.com/john.doe.png");
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setAuthorities(
+            Stream
+                .of("ROLE_USER", "ROLE_ADMIN")
+                .map(name -> {
+                    Authority authority = new Authority();
+                    authority.setName(name);
+                    return authority;
+                })
+                .collect(Collectors.toSet())
+        );
+        adminUserDTO = userMapper.userToAdminUserDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO userToUserDTO() {
+        return userMapper.userToUserDTO(user);
+    }
+
+    @Benchmark
+    public AdminUserDTO userToAdminUserDTO() {
+        return userMapper.userToAdminUserDTO(user);
+    }
+
+    @Benchmark
+    public User userDTOToUser() {
+        return userMapper.userDTOToUser(adminUserDTO);
+    }
+
+    @Benchmark
+    public Set<UserDTO> toDtoLoginSet() {
+        return userMapper.toDtoLoginSet(Set.of(user));
+    }
+}
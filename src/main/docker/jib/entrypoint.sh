@@ -1,4 +1,22 @@
 #!/bin/sh
 
 echo "The application will start in ${JHIPSTER_SLEEP}s..." && sleep ${JHIPSTER_SLEEP}
-exec java ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -Djava.security.egd=file:/dev/./urandom -cp /app/resources/:/app/classes/:/app/libs/* "com.qacm.test.TestApp"  "$@"
+
+# The image built with the faststart Maven profile has its classes packaged as a jar, as class-data sharing requires
+if [ -d /app/classpath ]; then
+    CLASSPATH="/app/classpath/*:/app/libs/*"
+else
+    CLASSPATH="/app/resources/:/app/classes/:/app/libs/*"
+fi
+
+# Records the classes loaded while the application starts, then archives them, see src/main/docker/cds
+if [ "${JHIPSTER_CDS_DUMP}" = "true" ]; then
+    java ${JAVA_OPTS} -XX:DumpLoadedClassList=/tmp/classes.lst -Djava.security.egd=file:/dev/./urandom -cp "${CLASSPATH}" "com.qacm.test.TestApp" \
+        --application.fast-start.training-run=true --spring.cloud.config.enabled=false --eureka.client.enabled=false "$@" &&
+    exec java -Xshare:dump -XX:SharedClassListFile=/tmp/classes.lst -XX:SharedArchiveFile="${JHIPSTER_CDS_ARCHIVE}" -cp "${CLASSPATH}"
+fi
+if [ -n "${JHIPSTER_CDS_ARCHIVE}" ] && [ -f "${JHIPSTER_CDS_ARCHIVE}" ]; then
+    JAVA_OPTS="${JAVA_OPTS} -XX:SharedArchiveFile=${JHIPSTER_CDS_ARCHIVE} -Xshare:auto"
+fi
+
+exec java ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -Djava.security.egd=file:/dev/./urandom -cp "${CLASSPATH}" "com.qacm.test.TestApp"  "$@"
@@ -1,6 +1,7 @@
 package com.qacm.test;
 
 import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.config.Constants;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Arrays;
@@ -12,8 +13,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import tech.jhipster.config.DefaultProfileUtil;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -23,6 +28,11 @@ public class TestApp {
 
     private static final Logger log = LoggerFactory.getLogger(TestApp.class);
 
+    /**
+     * Number of startup steps recorded, and reported by the {@code /management/startup} endpoint of the "faststart" profile.
+     */
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
+
     private final Environment env;
 
     public TestApp(Environment env) {
@@ -65,10 +75,25 @@ public class TestApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(TestApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        app.addListeners(new StartupStepsRecorder());
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
 
+    /**
+     * Records the startup steps when the "faststart" profile is active. The profiles are known once the environment is prepared,
+     * which is before the application context is created, so all the steps of the context are recorded.
+     */
+    private static final class StartupStepsRecorder implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            if (event.getEnvironment().acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_FAST_START))) {
+                event.getSpringApplication().setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+            }
+        }
+    }
+
     private static void logApplicationStartup(Environment env) {
         String protocol = Optional.ofNullable(env.getProperty("server.ssl.key-store")).map(key -> "https").orElse("http");
         String serverPort = env.getProperty("server.port");
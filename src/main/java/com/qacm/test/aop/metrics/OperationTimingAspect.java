@@ -0,0 +1,125 @@
+package com.qacm.test.aop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Aspect timing the operations of the service, repository and Spring components.
+ * <p>
+ * Operations returning a {@link Mono} or a {@link Flux} are timed from the subscription to the completion, error or
+ * cancellation of each subscriber, which is when their work actually happens; other operations are timed while the method
+ * runs. The durations are recorded in the {@value #METRIC_NAME} timer, tagged with the class and method names and the outcome
+ * only, so that the number of timers is bounded by the number of methods.
+ */
+@Aspect
+public class OperationTimingAspect {
+
+    static final String METRIC_NAME = "app.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, OperationTimers> timers = new ConcurrentHashMap<>();
+
+    public OperationTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut("within(com.qacm.test.repository..*)" + " || within(com.qacm.test.service..*)" + " || within(com.qacm.test.web.rest..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times an operation.
+     *
+     * @param joinPoint join point for advice.
+     * @return the result, timed when it is subscribed to if it is reactive.
+     * @throws Throwable the exception of the operation.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperationTimers operationTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            operationTimers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            return Mono.defer(() -> {
+                long subscribedAt = System.nanoTime();
+                return ((Mono<?>) result).doFinally(signalType -> operationTimers.record(signalType, subscribedAt));
+            });
+        } else if (result instanceof Flux) {
+            return Flux.defer(() -> {
+                long subscribedAt = System.nanoTime();
+                return ((Flux<?>) result).doFinally(signalType -> operationTimers.record(signalType, subscribedAt));
+            });
+        }
+        operationTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private OperationTimers register(Method method) {
+        return new OperationTimers(timer(method, "success"), timer(method, "error"), timer(method, "cancel"));
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer
+            .builder(METRIC_NAME)
+            .description("Duration of the operations of the application components")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static final class OperationTimers {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final Timer cancel;
+
+        private OperationTimers(Timer success, Timer error, Timer cancel) {
+            this.success = success;
+            this.error = error;
+            this.cancel = cancel;
+        }
+
+        private void record(SignalType signalType, long start) {
+            Timer timer = signalType == SignalType.ON_ERROR ? error : signalType == SignalType.CANCEL ? cancel : success;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.qacm.test.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +10,664 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Count count = new Count();
+
+    private final Indexes indexes = new Indexes();
+
+    private final Bulk bulk = new Bulk();
+
+    private final EntityCache entityCache = new EntityCache();
+
+    private final CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
+    private final LiveFeed liveFeed = new LiveFeed();
+
+    private final UserSync userSync = new UserSync();
+
+    private final Authorities authorities = new Authorities();
+
+    private final TokenCache tokenCache = new TokenCache();
+
+    private final TokenRefresh tokenRefresh = new TokenRefresh();
+
+    private final Session session = new Session();
+
+    private final OperationMetrics operationMetrics = new OperationMetrics();
+
+    private final EventLoopGuard eventLoopGuard = new EventLoopGuard();
+
+    private final BlockingExecution blockingExecution = new BlockingExecution();
+
+    private final FastStart fastStart = new FastStart();
+
+    public Count getCount() {
+        return count;
+    }
+
+    public Indexes getIndexes() {
+        return indexes;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    public CacheInvalidation getCacheInvalidation() {
+        return cacheInvalidation;
+    }
+
+    public LiveFeed getLiveFeed() {
+        return liveFeed;
+    }
+
+    public UserSync getUserSync() {
+        return userSync;
+    }
+
+    public Authorities getAuthorities() {
+        return authorities;
+    }
+
+    public TokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    public TokenRefresh getTokenRefresh() {
+        return tokenRefresh;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public OperationMetrics getOperationMetrics() {
+        return operationMetrics;
+    }
+
+    public EventLoopGuard getEventLoopGuard() {
+        return eventLoopGuard;
+    }
+
+    public BlockingExecution getBlockingExecution() {
+        return blockingExecution;
+    }
+
+    public FastStart getFastStart() {
+        return fastStart;
+    }
+
+    /**
+     * Total count of the paginated list endpoints.
+     */
+    public static class Count {
+
+        /**
+         * How the total count of a collection is computed.
+         */
+        public enum Strategy {
+            /**
+             * Count the documents of the collection on every request.
+             */
+            EXACT,
+            /**
+             * Use the collection metadata, which is fast but may be off after an unclean shutdown or during chunk migrations.
+             */
+            ESTIMATED,
+            /**
+             * Count the documents, and reuse the result until it expires or the collection is written to.
+             */
+            CACHED,
+        }
+
+        private Strategy strategy = Strategy.CACHED;
+
+        private Duration cacheTtl = Duration.ofSeconds(30);
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+    }
+
+    /**
+     * Indexes supporting the sort orders of the paginated list endpoints.
+     */
+    public static class Indexes {
+
+        /**
+         * What to do when a sort order has no supporting index.
+         */
+        public enum SortCheck {
+            /**
+             * Do not check sort orders.
+             */
+            OFF,
+            /**
+             * Log a warning at startup, and the first time an unsupported sort order is requested.
+             */
+            WARN,
+            /**
+             * Fail the startup, and reject the requests with an unsupported sort order.
+             */
+            FAIL,
+        }
+
+        private SortCheck sortCheck = SortCheck.WARN;
+
+        public SortCheck getSortCheck() {
+            return sortCheck;
+        }
+
+        public void setSortCheck(SortCheck sortCheck) {
+            this.sortCheck = sortCheck;
+        }
+    }
+
+    /**
+     * Bulk write endpoints.
+     */
+    public static class Bulk {
+
+        /**
+         * Number of operations sent to the database in a single {@code bulkWrite} command.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Read-through cache of the single entity lookups.
+     */
+    public static class EntityCache {
+
+        /**
+         * Time after which a cached entity is loaded again, even if it was not written to.
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+
+        /**
+         * Maximum number of cached entities of each type.
+         */
+        private long maximumSize = 10_000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * Invalidation of the entity caches across the instances of the application.
+     */
+    public static class CacheInvalidation {
+
+        /**
+         * How the invalidations are sent to the other instances.
+         */
+        public enum Transport {
+            /**
+             * Do not invalidate the caches of the other instances, which expire after their TTL.
+             */
+            NONE,
+            /**
+             * Post the invalidations to the instances registered in Eureka.
+             */
+            HTTP,
+            /**
+             * Write the invalidations to a collection watched by each instance with a change stream, which requires a replica set.
+             */
+            CHANGE_STREAM,
+        }
+
+        private Transport transport = Transport.NONE;
+
+        /**
+         * Time during which invalidations are coalesced before being sent.
+         */
+        private Duration batchWindow = Duration.ofMillis(200);
+
+        /**
+         * Maximum number of invalidations sent at once.
+         */
+        private int maxBatchSize = 1000;
+
+        /**
+         * Secret shared by the instances, authenticating the invalidations of the HTTP transport.
+         */
+        private String token;
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public void setTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public Duration getBatchWindow() {
+            return batchWindow;
+        }
+
+        public void setBatchWindow(Duration batchWindow) {
+            this.batchWindow = batchWindow;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+    }
+
+    /**
+     * Live feeds of the new posts and comments.
+     */
+    public static class LiveFeed {
+
+        /**
+         * Number of recent entities kept to resume the feed of a reconnecting client.
+         */
+        private int replaySize = 256;
+
+        /**
+         * Number of entities buffered for a slow client before its feed is closed, to be resumed when it reconnects.
+         */
+        private int subscriberBufferSize = 256;
+
+        public int getReplaySize() {
+            return replaySize;
+        }
+
+        public void setReplaySize(int replaySize) {
+            this.replaySize = replaySize;
+        }
+
+        public int getSubscriberBufferSize() {
+            return subscriberBufferSize;
+        }
+
+        public void setSubscriberBufferSize(int subscriberBufferSize) {
+            this.subscriberBufferSize = subscriberBufferSize;
+        }
+    }
+
+    /**
+     * Synchronization of the current user with the identity provider.
+     */
+    public static class UserSync {
+
+        /**
+         * Time during which an unchanged user is not synchronized again, when its token has no expiration time.
+         */
+        private Duration defaultTtl = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of synchronized users remembered.
+         */
+        private long maximumSize = 10_000;
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * In-memory registry of the authorities.
+     */
+    public static class Authorities {
+
+        /**
+         * Interval at which the registry is reloaded, to pick up the authorities added by the other instances.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    /**
+     * Cache of the bearer tokens decoded by the resource server.
+     */
+    public static class TokenCache {
+
+        /**
+         * Maximum number of decoded tokens kept until they expire.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Interval at which the signing keys of the IdP are fetched again.
+         */
+        private Duration jwkSetRefreshInterval = Duration.ofMinutes(5);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getJwkSetRefreshInterval() {
+            return jwkSetRefreshInterval;
+        }
+
+        public void setJwkSetRefreshInterval(Duration jwkSetRefreshInterval) {
+            this.jwkSetRefreshInterval = jwkSetRefreshInterval;
+        }
+    }
+
+    /**
+     * Refresh of the access tokens of the OAuth 2.0 login sessions.
+     */
+    public static class TokenRefresh {
+
+        /**
+         * Time before the expiration of an access token from which it is refreshed.
+         */
+        private Duration refreshWindow = Duration.ofMinutes(1);
+
+        public Duration getRefreshWindow() {
+            return refreshWindow;
+        }
+
+        public void setRefreshWindow(Duration refreshWindow) {
+            this.refreshWindow = refreshWindow;
+        }
+    }
+
+    /**
+     * Store of the login sessions.
+     */
+    public static class Session {
+
+        /**
+         * Where the sessions are stored.
+         */
+        public enum Store {
+            /**
+             * In the memory of each instance, which requires sticky sessions.
+             */
+            MEMORY,
+            /**
+             * In MongoDB, shared by all the instances.
+             */
+            MONGO,
+        }
+
+        private Store store = Store.MEMORY;
+
+        /**
+         * Time after which an inactive session expires.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Time during which a stored session is served from memory, unless it is invalidated by a write.
+         */
+        private Duration nearCacheTtl = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of sessions kept in memory.
+         */
+        private long nearCacheMaximumSize = 10_000;
+
+        /**
+         * Interval at which a session whose attributes did not change is written again, to extend its expiration.
+         */
+        private Duration touchInterval = Duration.ofMinutes(1);
+
+        public Store getStore() {
+            return store;
+        }
+
+        public void setStore(Store store) {
+            this.store = store;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getNearCacheTtl() {
+            return nearCacheTtl;
+        }
+
+        public void setNearCacheTtl(Duration nearCacheTtl) {
+            this.nearCacheTtl = nearCacheTtl;
+        }
+
+        public long getNearCacheMaximumSize() {
+            return nearCacheMaximumSize;
+        }
+
+        public void setNearCacheMaximumSize(long nearCacheMaximumSize) {
+            this.nearCacheMaximumSize = nearCacheMaximumSize;
+        }
+
+        public Duration getTouchInterval() {
+            return touchInterval;
+        }
+
+        public void setTouchInterval(Duration touchInterval) {
+            this.touchInterval = touchInterval;
+        }
+    }
+
+    /**
+     * Timing of the operations of the repositories, services and REST controllers.
+     */
+    public static class OperationMetrics {
+
+        /**
+         * Whether the operations are timed; when disabled, the components are not proxied for it.
+         */
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Detection of the blocking calls made on the Netty and Reactor non-blocking threads.
+     */
+    public static class EventLoopGuard {
+
+        /**
+         * Whether BlockHound is installed to detect the blocking calls; they are counted and reported, not failed.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Minimum time between two reports, with a stack trace, of the calls to the same blocking method.
+         */
+        private Duration reportInterval = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getReportInterval() {
+            return reportInterval;
+        }
+
+        public void setReportInterval(Duration reportInterval) {
+            this.reportInterval = reportInterval;
+        }
+    }
+
+    /**
+     * Executors of the {@code @Async} methods and of the blocking calls offloaded from the event loops.
+     */
+    public static class BlockingExecution {
+
+        /**
+         * Whether the tasks run on virtual threads when the JVM supports them, instead of a bounded elastic pool.
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * Maximum number of virtual threads of each executor, bounding the blocking calls in flight.
+         */
+        private int virtualThreadCap = 1000;
+
+        private String threadNamePrefix = "test-blocking-";
+
+        /**
+         * Maximum number of threads of the bounded elastic pool of the blocking calls.
+         */
+        private int threadCap = 10 * Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Maximum number of blocking calls waiting for a thread of the pool; the next ones are rejected.
+         */
+        private int queueCapacity = 100000;
+
+        /**
+         * Time after which an idle thread of the pool is stopped.
+         */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public int getVirtualThreadCap() {
+            return virtualThreadCap;
+        }
+
+        public void setVirtualThreadCap(int virtualThreadCap) {
+            this.virtualThreadCap = virtualThreadCap;
+        }
+
+        public String getThreadNamePrefix() {
+            return threadNamePrefix;
+        }
+
+        public void setThreadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+        public int getThreadCap() {
+            return threadCap;
+        }
+
+        public void setThreadCap(int threadCap) {
+            this.threadCap = threadCap;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+    }
+
+    /**
+     * Settings of the "faststart" profile.
+     */
+    public static class FastStart {
+
+        /**
+         * Whether the application stops once it has started, in the run recording the classes of the class-data sharing archive.
+         */
+        private boolean trainingRun = false;
+
+        public boolean isTrainingRun() {
+            return trainingRun;
+        }
+
+        public void setTrainingRun(boolean trainingRun) {
+            this.trainingRun = trainingRun;
+        }
+    }
+}
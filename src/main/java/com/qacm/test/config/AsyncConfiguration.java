@@ -1,6 +1,10 @@
 package com.qacm.test.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
@@ -11,7 +15,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
 @Configuration
@@ -23,24 +29,90 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties.BlockingExecution blockingExecution;
+
+    private final MeterRegistry meterRegistry;
+
+    private ExecutorService taskExecutorService;
+
+    private boolean sharedSchedulerMonitored;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.blockingExecution = applicationProperties.getBlockingExecution();
+        this.meterRegistry = meterRegistry;
     }
 
+    /**
+     * The executor of the {@code @Async} methods: on virtual threads when they are enabled and supported, otherwise on a bounded
+     * elastic pool of {@code spring.task.execution.pool.max-size} threads.
+     */
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         log.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        TaskExecutionProperties.Pool pool = taskExecutionProperties.getPool();
+        taskExecutorService =
+            BlockingExecutors.newExecutor(
+                "task",
+                taskExecutionProperties.getThreadNamePrefix(),
+                blockingExecution.isVirtualThreads(),
+                pool.getMaxSize(),
+                blockingExecution.getVirtualThreadCap(),
+                pool.getQueueCapacity(),
+                pool.getKeepAlive(),
+                meterRegistry
+            );
+        return new ExceptionHandlingAsyncTaskExecutor(new ConcurrentTaskExecutor(taskExecutorService));
+    }
+
+    /**
+     * The scheduler of the blocking calls offloaded from the event loops, with {@code subscribeOn} or {@code publishOn}: on
+     * virtual threads when they are enabled and supported, otherwise on a bounded elastic pool.
+     * <p>
+     * It is injected where the application offloads blocking work; the shared {@link Schedulers#boundedElastic()} scheduler of
+     * the libraries is left as is, and only timed by {@link SharedSchedulerMetrics}. Backed by a plain executor, this scheduler
+     * cannot run delayed or periodic tasks.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler() {
+        log.debug("Creating Blocking Scheduler");
+        return Schedulers.fromExecutorService(
+            BlockingExecutors.newExecutor(
+                "blocking",
+                blockingExecution.getThreadNamePrefix(),
+                blockingExecution.isVirtualThreads(),
+                blockingExecution.getThreadCap(),
+                blockingExecution.getVirtualThreadCap(),
+                blockingExecution.getQueueCapacity(),
+                blockingExecution.getKeepAlive(),
+                meterRegistry
+            ),
+            "blocking"
+        );
+    }
+
+    @PostConstruct
+    public void monitorSharedScheduler() {
+        sharedSchedulerMonitored = SharedSchedulerMetrics.install(meterRegistry);
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    @PreDestroy
+    public void destroy() {
+        if (sharedSchedulerMonitored) {
+            SharedSchedulerMetrics.uninstall();
+        }
+        if (taskExecutorService != null) {
+            taskExecutorService.shutdown();
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.qacm.test.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Factory of the executors running blocking work, on virtual threads when the JVM supports them, otherwise on platform threads.
+ * <p>
+ * Both kinds of executors are bounded pools: they start threads up to their cap before queueing the tasks, reject the tasks
+ * beyond their queue capacity, and stop the threads after they have been idle for the keep-alive time. Virtual threads are cheap
+ * to start, so their cap is much higher, but it still bounds the blocking calls in flight, for example the connections they
+ * hold. The executors are monitored with the Micrometer {@code executor} metrics, tagged with their name: the wait time of the
+ * tasks before they start ({@code executor.idle}), their execution time, the tasks in flight ({@code executor.active}) and the
+ * queue depth ({@code executor.queued}).
+ */
+final class BlockingExecutors {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingExecutors.class);
+
+    private BlockingExecutors() {}
+
+    /**
+     * Create a monitored executor.
+     *
+     * @param name the name of the executor in the metrics.
+     * @param threadNamePrefix the prefix of the names of its threads.
+     * @param virtualThreads whether to run the tasks on virtual threads when the JVM supports them.
+     * @param threadCap the maximum number of platform threads.
+     * @param virtualThreadCap the maximum number of virtual threads.
+     * @param queueCapacity the maximum number of tasks waiting for a thread.
+     * @param keepAlive the time after which an idle thread is stopped.
+     * @param meterRegistry the meter registry.
+     * @return the executor.
+     */
+    static ExecutorService newExecutor(
+        String name,
+        String threadNamePrefix,
+        boolean virtualThreads,
+        int threadCap,
+        int virtualThreadCap,
+        int queueCapacity,
+        Duration keepAlive,
+        MeterRegistry meterRegistry
+    ) {
+        Optional<ThreadFactory> virtualThreadFactory = virtualThreads ? newVirtualThreadFactory(threadNamePrefix) : Optional.empty();
+        ThreadPoolExecutor executor;
+        if (virtualThreadFactory.isPresent()) {
+            log.info("Running the {} executor on up to {} virtual threads", name, virtualThreadCap);
+            executor = newBoundedExecutor(virtualThreadFactory.get(), virtualThreadCap, queueCapacity, keepAlive);
+        } else {
+            log.info("Running the {} executor on a bounded elastic pool of {} threads", name, threadCap);
+            executor = newBoundedExecutor(new CustomizableThreadFactory(threadNamePrefix), threadCap, queueCapacity, keepAlive);
+        }
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, name);
+    }
+
+    private static ThreadPoolExecutor newBoundedExecutor(
+        ThreadFactory threadFactory,
+        int threadCap,
+        int queueCapacity,
+        Duration keepAlive
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threadCap,
+            threadCap,
+            keepAlive.toMillis(),
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(queueCapacity),
+            threadFactory
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Create a factory of virtual threads, with reflection since they are only available from Java 21, or from Java 19 with the
+     * preview features enabled.
+     */
+    private static Optional<ThreadFactory> newVirtualThreadFactory(String threadNamePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.qacm.test.config;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tags of the MongoDB command timers, bounded to the command, the collection and the status.
+ * <p>
+ * The cluster id of the default tags changes with every client, so each restart of an instance would start new series, and
+ * the server address is left to the driver connection pool metrics.
+ */
+class CollectionMongoCommandTagsProvider implements MongoCommandTagsProvider {
+
+    private static final Set<String> TAG_KEYS = Set.of("command", "collection", "status");
+
+    private final DefaultMongoCommandTagsProvider delegate = new DefaultMongoCommandTagsProvider();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        // the collection is only known from the started event, and looked up by the delegate when the command ends
+        delegate.commandStarted(event);
+    }
+
+    @Override
+    public Iterable<Tag> commandTags(CommandEvent event) {
+        return Tags.of(
+            Tags.of(delegate.commandTags(event)).stream().filter(tag -> TAG_KEYS.contains(tag.getKey())).collect(Collectors.toList())
+        );
+    }
+}
@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Spring profile for a faster cold start, see FastStartConfiguration
+    public static final String SPRING_PROFILE_FAST_START = "faststart";
+
     private Constants() {}
 }
@@ -1,5 +1,6 @@
 package com.qacm.test.config;
 
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
 import io.mongock.runner.springboot.EnableMongock;
 import java.util.ArrayList;
 import java.util.List;
@@ -42,4 +43,9 @@ public class DatabaseConfiguration {
         converters.add(ZonedDateTimeToDateConverter.INSTANCE);
         return new MongoCustomConversions(converters);
     }
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new CollectionMongoCommandTagsProvider();
+    }
 }
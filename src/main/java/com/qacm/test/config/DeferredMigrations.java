@@ -0,0 +1,59 @@
+package com.qacm.test.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Runs the Mongock migrations, which also build the indexes, in the background once the application has started, instead of
+ * before it starts.
+ * <p>
+ * As a health indicator of the readiness group, it keeps the instance out of service until the migrations are done, and
+ * down if they failed, so that it is only sent traffic once the database is up to date. With the Eureka health check enabled,
+ * the instance is likewise registered as {@code OUT_OF_SERVICE} until then, so that the gateways do not route to it.
+ */
+class DeferredMigrations implements HealthIndicator {
+
+    private final Logger log = LoggerFactory.getLogger(DeferredMigrations.class);
+
+    private final Runnable migrations;
+
+    private final Scheduler blockingScheduler;
+
+    private volatile Health health = Health.outOfService().withDetail("migrations", "pending").build();
+
+    /**
+     * @param migrations the blocking run of the migrations.
+     * @param blockingScheduler the scheduler they are run on.
+     */
+    DeferredMigrations(Runnable migrations, Scheduler blockingScheduler) {
+        this.migrations = migrations;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    public void start() {
+        log.info("Running the database migrations in the background");
+        Mono
+            .fromRunnable(migrations)
+            .subscribeOn(blockingScheduler)
+            .subscribe(
+                null,
+                e -> {
+                    log.error("The database migrations failed", e);
+                    health = Health.down(e).build();
+                },
+                () -> {
+                    log.info("The database migrations are done");
+                    health = Health.up().build();
+                }
+            );
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+}
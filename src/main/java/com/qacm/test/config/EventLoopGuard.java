@@ -0,0 +1,144 @@
+package com.qacm.test.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * BlockHound integration counting and reporting the blocking calls made on the non-blocking threads, instead of failing them.
+ * <p>
+ * Every blocking call increments the {@code event.loop.blocking.calls} counter, and the calls of a method are reported with
+ * their stack trace at most once per {@code application.event-loop-guard.report-interval}. The callback runs on the
+ * non-blocking thread, so it only increments the counter registered up front and queues the reports in a lock-free queue,
+ * which a dedicated thread logs.
+ * <p>
+ * Besides the JDK methods known to BlockHound, the blocking MongoDB template of the migrations and the reading of the
+ * Thymeleaf templates are reported.
+ */
+class EventLoopGuard implements BlockHoundIntegration, AutoCloseable {
+
+    /**
+     * Maximum number of reports waiting to be logged, the next ones being dropped.
+     */
+    private static final int MAX_PENDING_REPORTS = 100;
+
+    /**
+     * Time between two loggings of the pending reports.
+     */
+    private static final Duration REPORTING_DELAY = Duration.ofSeconds(1);
+
+    private final Logger log = LoggerFactory.getLogger(EventLoopGuard.class);
+
+    private final Counter calls;
+
+    private final long reportIntervalNanos;
+
+    /**
+     * The time of the next report of each blocking method.
+     */
+    private final Map<String, AtomicLong> nextReports = new ConcurrentHashMap<>();
+
+    private final Queue<Report> pendingReports = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingReportCount = new AtomicInteger();
+
+    private final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-loop-guard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    EventLoopGuard(MeterRegistry meterRegistry, Duration reportInterval) {
+        this(meterRegistry, reportInterval, REPORTING_DELAY);
+    }
+
+    EventLoopGuard(MeterRegistry meterRegistry, Duration reportInterval, Duration reportingDelay) {
+        this.calls =
+            Counter
+                .builder("event.loop.blocking.calls")
+                .description("Blocking calls made on the non-blocking threads")
+                .register(meterRegistry);
+        this.reportIntervalNanos = reportInterval.toNanos();
+        long delay = reportingDelay.toMillis();
+        reporter.scheduleWithFixedDelay(this::report, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        builder
+            .allowBlockingCallsInside("reactor.core.scheduler.BoundedElasticScheduler$BoundedState", "dispose")
+            .allowBlockingCallsInside("reactor.core.scheduler.BoundedElasticScheduler", "schedule")
+            .allowBlockingCallsInside("org.springframework.validation.beanvalidation.SpringValidatorAdapter", "validate")
+            .markAsBlocking(
+                "org.springframework.data.mongodb.core.MongoTemplate",
+                "execute",
+                "(Ljava/lang/String;Lorg/springframework/data/mongodb/core/CollectionCallback;)Ljava/lang/Object;"
+            )
+            .markAsBlocking("org.thymeleaf.templateresource.ClassLoaderTemplateResource", "reader", "()Ljava/io/Reader;")
+            .blockingMethodCallback(this::onBlockingCall);
+    }
+
+    void onBlockingCall(BlockingMethod method) {
+        calls.increment();
+        AtomicLong nextReport = nextReports.computeIfAbsent(method.toString(), key -> new AtomicLong(System.nanoTime()));
+        long now = System.nanoTime();
+        long reportAt = nextReport.get();
+        if (now - reportAt >= 0 && nextReport.compareAndSet(reportAt, now + reportIntervalNanos)) {
+            if (pendingReportCount.incrementAndGet() > MAX_PENDING_REPORTS) {
+                pendingReportCount.decrementAndGet();
+                return;
+            }
+            // the error captures the stack trace of the blocking call
+            pendingReports.offer(new Report(new BlockingOperationError(method), Thread.currentThread().getName()));
+        }
+    }
+
+    /**
+     * Log the pending reports.
+     *
+     * @return the number of logged reports.
+     */
+    int report() {
+        int reported = 0;
+        Report report;
+        while ((report = pendingReports.poll()) != null) {
+            pendingReportCount.decrementAndGet();
+            log.warn("Blocking call to {} on the non-blocking thread {}", report.error.getMethod(), report.threadName, report.error);
+            reported++;
+        }
+        return reported;
+    }
+
+    @Override
+    public void close() {
+        reporter.shutdown();
+        report();
+    }
+
+    private static final class Report {
+
+        private final BlockingOperationError error;
+
+        private final String threadName;
+
+        private Report(BlockingOperationError error, String threadName) {
+            this.error = error;
+            this.threadName = threadName;
+        }
+    }
+}
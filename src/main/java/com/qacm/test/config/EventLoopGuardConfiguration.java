@@ -0,0 +1,35 @@
+package com.qacm.test.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.blockhound.BlockHound;
+
+/**
+ * Installs BlockHound when {@code application.event-loop-guard.enabled} is true, to detect the blocking calls made on the
+ * event loops outside of the tests.
+ * <p>
+ * BlockHound instruments the blocking JDK methods, which costs a check of the current thread on each of their calls; it is
+ * meant for staging, or for a production instance chosen to look for blocking calls. It cannot be uninstalled. BlockHound is an
+ * optional dependency: without it on the class path, this configuration is skipped.
+ */
+@Configuration
+@ConditionalOnClass(name = "reactor.blockhound.BlockHound")
+@ConditionalOnProperty(name = "application.event-loop-guard.enabled", havingValue = "true")
+public class EventLoopGuardConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(EventLoopGuardConfiguration.class);
+
+    @Bean
+    EventLoopGuard eventLoopGuard(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        EventLoopGuard eventLoopGuard = new EventLoopGuard(meterRegistry, applicationProperties.getEventLoopGuard().getReportInterval());
+        // the integrations of Reactor and Netty, which tell their non-blocking threads, are loaded with the service loader
+        BlockHound.install(eventLoopGuard);
+        log.info("Installed BlockHound to report the blocking calls made on the non-blocking threads");
+        return eventLoopGuard;
+    }
+}
@@ -0,0 +1,84 @@
+package com.qacm.test.config;
+
+import com.qacm.test.repository.SortIndexes;
+import io.mongock.driver.mongodb.springdata.v3.SpringDataMongoV3Driver;
+import io.mongock.runner.springboot.MongockSpringboot;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Configuration of the "faststart" profile, for the instances that must be ready soon after they are started.
+ * <p>
+ * The profile, in {@code application-faststart.yml}, initializes the beans lazily and disables the Mongock runner: the
+ * migrations are run by {@link DeferredMigrations} once the application has started, and the instance is kept out of the
+ * readiness group until they are done. The startup steps are reported by the {@code /management/startup} endpoint.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_FAST_START)
+public class FastStartConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(FastStartConfiguration.class);
+
+    private final ApplicationProperties.FastStart properties;
+
+    public FastStartConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getFastStart();
+    }
+
+    /**
+     * The beans which do their work when they are created, and must not be initialized lazily.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        // matched by name, as BlockHound may be left out of the class path
+        return (beanName, beanDefinition, beanType) -> "eventLoopGuard".equals(beanName);
+    }
+
+    @Bean
+    DeferredMigrations migrationsHealthIndicator(
+        ApplicationContext applicationContext,
+        MongoTemplate mongoTemplate,
+        SortIndexes sortIndexes,
+        Scheduler blockingScheduler
+    ) {
+        List<String> migrationScanPackages = Binder
+            .get(applicationContext.getEnvironment())
+            .bind("mongock.migration-scan-package", Bindable.listOf(String.class))
+            .orElse(List.of());
+        Runnable migrations = () -> {
+            MongockSpringboot
+                .builder()
+                .setDriver(SpringDataMongoV3Driver.withDefaultLock(mongoTemplate))
+                .addMigrationScanPackages(migrationScanPackages)
+                .setSpringContext(applicationContext)
+                .setTransactionEnabled(false)
+                .buildRunner()
+                .execute();
+            sortIndexes.checkSortableProperties();
+        };
+        return new DeferredMigrations(migrations, blockingScheduler);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (properties.isTrainingRun()) {
+            // the classes loaded until now are archived for the next starts, see src/main/docker/cds
+            log.info("Stopping the training run of the class-data sharing archive");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+        event.getApplicationContext().getBean(DeferredMigrations.class).start();
+    }
+}
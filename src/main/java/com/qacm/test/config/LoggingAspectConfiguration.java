@@ -1,6 +1,9 @@
 package com.qacm.test.config;
 
 import com.qacm.test.aop.logging.LoggingAspect;
+import com.qacm.test.aop.metrics.OperationTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -10,8 +13,14 @@ import tech.jhipster.config.JHipsterConstants;
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT + " & !" + Constants.SPRING_PROFILE_FAST_START)
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.operation-metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public OperationTimingAspect operationTimingAspect(MeterRegistry meterRegistry) {
+        return new OperationTimingAspect(meterRegistry);
+    }
 }
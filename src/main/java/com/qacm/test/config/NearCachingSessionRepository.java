@@ -0,0 +1,174 @@
+package com.qacm.test.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.DBObject;
+import com.qacm.test.service.CacheInvalidationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.data.mongo.AbstractMongoSessionConverter;
+import org.springframework.session.data.mongo.MongoSession;
+import org.springframework.session.data.mongo.ReactiveMongoSessionRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveSessionRepository} keeping the sessions stored in MongoDB in memory for a short time.
+ * <p>
+ * Sessions are kept in their stored form, with compressed attributes, and every lookup gets its own copy. Writes and deletions
+ * of a session evict it from this instance and, through the {@link CacheInvalidationService}, from the other instances. The
+ * sessions are cached and invalidated by the hash of their id, so that the invalidations sent to the other instances do not
+ * carry the session ids, which authenticate their users.
+ * <p>
+ * Sessions are saved at the end of every request to update their last access time. A session whose attributes did not
+ * change is only written again once its last write is older than the touch interval, which may expire it that much early.
+ */
+class NearCachingSessionRepository implements ReactiveSessionRepository<MongoSession> {
+
+    /**
+     * The name of the collection, so that the changes of the database are routed to the cache.
+     */
+    static final String COLLECTION_NAME = "jhi_session";
+
+    private static final TypeDescriptor SESSION_TYPE = TypeDescriptor.valueOf(MongoSession.class);
+
+    private static final TypeDescriptor DOCUMENT_TYPE = TypeDescriptor.valueOf(DBObject.class);
+
+    /**
+     * The fields of the stored sessions that change on every access.
+     */
+    private static final Set<String> ACCESS_FIELDS = Set.of("accessed", "expireAt");
+
+    private final ReactiveMongoSessionRepository delegate;
+
+    private final AbstractMongoSessionConverter converter;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final Duration touchInterval;
+
+    private final Cache<String, StoredSession> cache;
+
+    private final Counter writtenSaves;
+
+    private final Counter skippedSaves;
+
+    NearCachingSessionRepository(
+        ReactiveMongoSessionRepository delegate,
+        AbstractMongoSessionConverter converter,
+        ApplicationProperties.Session properties,
+        CacheInvalidationService cacheInvalidationService,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.converter = converter;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.touchInterval = properties.getTouchInterval();
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(properties.getNearCacheMaximumSize())
+                .expireAfterWrite(properties.getNearCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session");
+        this.writtenSaves = meterRegistry.counter("session.saves", "result", "written");
+        this.skippedSaves = meterRegistry.counter("session.saves", "result", "skipped");
+        cacheInvalidationService.register(COLLECTION_NAME, cache::invalidate, cache::invalidateAll);
+    }
+
+    @Override
+    public Mono<MongoSession> createSession() {
+        return delegate.createSession();
+    }
+
+    @Override
+    public Mono<Void> save(MongoSession session) {
+        StoredSession storedSession = new StoredSession((DBObject) converter.convert(session, SESSION_TYPE, DOCUMENT_TYPE));
+        String key = hash(session.getId());
+        StoredSession cachedSession = cache.getIfPresent(key);
+        if (cachedSession != null && cachedSession.isTouchedBy(storedSession, touchInterval)) {
+            skippedSaves.increment();
+            return Mono.empty();
+        }
+        return delegate
+            .save(session)
+            .doOnSuccess(saved -> {
+                writtenSaves.increment();
+                cacheInvalidationService.publish(COLLECTION_NAME, key);
+                cache.put(key, storedSession);
+            });
+    }
+
+    @Override
+    public Mono<MongoSession> findById(String id) {
+        String key = hash(id);
+        StoredSession cachedSession = cache.getIfPresent(key);
+        if (cachedSession != null) {
+            MongoSession session = (MongoSession) converter.convert(cachedSession.document, DOCUMENT_TYPE, SESSION_TYPE);
+            if (session != null && !session.isExpired()) {
+                return Mono.just(session);
+            }
+            cache.invalidate(key);
+        }
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate
+            .deleteById(id)
+            .doOnSuccess(deleted -> {
+                String key = hash(id);
+                cache.invalidate(key);
+                cacheInvalidationService.publish(COLLECTION_NAME, key);
+            });
+    }
+
+    /**
+     * Hash a session id, so that neither the cache nor the invalidations hold the session ids themselves.
+     */
+    static String hash(String id) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class StoredSession {
+
+        private final DBObject document;
+
+        private final Instant writtenAt = Instant.now();
+
+        private StoredSession(DBObject document) {
+            this.document = document;
+        }
+
+        /**
+         * Check whether another version of the session only differs by its access time, within the touch interval.
+         */
+        private boolean isTouchedBy(StoredSession other, Duration touchInterval) {
+            if (other.writtenAt.isAfter(writtenAt.plus(touchInterval)) || !document.keySet().equals(other.document.keySet())) {
+                return false;
+            }
+            return document
+                .keySet()
+                .stream()
+                .filter(key -> !ACCESS_FIELDS.contains(key))
+                .allMatch(key -> Objects.deepEquals(document.get(key), other.document.get(key)));
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.qacm.test.config;
 
-import java.time.Duration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
@@ -15,7 +14,8 @@ public class OAuth2Configuration {
     @Bean
     public ReactiveOAuth2AuthorizedClientManager authorizedClientManager(
         ReactiveClientRegistrationRepository clientRegistrationRepository,
-        ServerOAuth2AuthorizedClientRepository authorizedClientRepository
+        ServerOAuth2AuthorizedClientRepository authorizedClientRepository,
+        ApplicationProperties applicationProperties
     ) {
         DefaultReactiveOAuth2AuthorizedClientManager authorizedClientManager = new DefaultReactiveOAuth2AuthorizedClientManager(
             clientRegistrationRepository,
@@ -26,7 +26,7 @@ public class OAuth2Configuration {
             ReactiveOAuth2AuthorizedClientProviderBuilder
                 .builder()
                 .authorizationCode()
-                .refreshToken(builder -> builder.clockSkew(Duration.ofMinutes(1)))
+                .refreshToken(builder -> builder.clockSkew(applicationProperties.getTokenRefresh().getRefreshWindow()))
                 .clientCredentials()
                 .password()
                 .build()
@@ -6,7 +6,7 @@ import reactor.core.publisher.Hooks;
 import tech.jhipster.config.JHipsterConstants;
 
 @Configuration
-@Profile("!" + JHipsterConstants.SPRING_PROFILE_PRODUCTION)
+@Profile("!" + JHipsterConstants.SPRING_PROFILE_PRODUCTION + " & !" + Constants.SPRING_PROFILE_FAST_START)
 public class ReactorConfiguration {
 
     public ReactorConfiguration() {
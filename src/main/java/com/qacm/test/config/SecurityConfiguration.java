@@ -5,8 +5,12 @@ import static org.springframework.security.web.server.util.matcher.ServerWebExch
 import com.qacm.test.security.AuthoritiesConstants;
 import com.qacm.test.security.SecurityUtils;
 import com.qacm.test.security.oauth2.AudienceValidator;
+import com.qacm.test.security.oauth2.CachingJwtAuthenticationConverter;
+import com.qacm.test.security.oauth2.CachingJwtDecoder;
 import com.qacm.test.security.oauth2.JwtGrantedAuthorityConverter;
+import com.qacm.test.security.oauth2.RefreshingJwkSource;
 import com.qacm.test.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashSet;
 import java.util.Set;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +25,7 @@ import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcReactiveOAuth2UserService;
+import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
 import org.springframework.security.oauth2.client.userinfo.ReactiveOAuth2UserService;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
@@ -29,15 +34,18 @@ import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
 import org.springframework.security.oauth2.jwt.*;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.oauth2.server.resource.web.server.ServerBearerTokenAuthenticationConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.csrf.CookieServerCsrfTokenRepository;
+import org.springframework.security.web.server.csrf.CsrfWebFilter;
 import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
 import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
 import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter.Mode;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.zalando.problem.spring.webflux.advice.security.SecurityProblemSupport;
 import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterProperties;
@@ -55,9 +63,20 @@ public class SecurityConfiguration {
 
     private final SecurityProblemSupport problemSupport;
 
-    public SecurityConfiguration(JHipsterProperties jHipsterProperties, SecurityProblemSupport problemSupport) {
+    private final ApplicationProperties.TokenCache tokenCacheProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public SecurityConfiguration(
+        JHipsterProperties jHipsterProperties,
+        SecurityProblemSupport problemSupport,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.jHipsterProperties = jHipsterProperties;
         this.problemSupport = problemSupport;
+        this.tokenCacheProperties = applicationProperties.getTokenCache();
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -70,6 +89,14 @@ public class SecurityConfiguration {
             )))
             .csrf()
                 .csrfTokenRepository(CookieServerCsrfTokenRepository.withHttpOnlyFalse())
+                // the cache invalidations of the other instances are not sent by a browser, neither are the bearer token requests
+                .requireCsrfProtectionMatcher(new AndServerWebExchangeMatcher(
+                    CsrfWebFilter.DEFAULT_CSRF_MATCHER,
+                    new NegatedServerWebExchangeMatcher(new OrServerWebExchangeMatcher(
+                        pathMatchers(HttpMethod.POST, "/management/cache-invalidations"),
+                        bearerTokenRequestMatcher()
+                    ))
+                ))
         .and()
             // See https://github.com/spring-projects/spring-security/issues/5766
             .addFilterAt(new CookieCsrfFilter(), SecurityWebFiltersOrder.REACTOR_CONTEXT)
@@ -99,6 +126,7 @@ public class SecurityConfiguration {
             .pathMatchers("/management/health/**").permitAll()
             .pathMatchers("/management/info").permitAll()
             .pathMatchers("/management/prometheus").permitAll()
+            .pathMatchers("/management/cache-invalidations").permitAll()
             .pathMatchers("/management/**").hasAuthority(AuthoritiesConstants.ADMIN);
 
         http.oauth2Login()
@@ -111,10 +139,26 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    /**
+     * Match the requests with a bearer token, which the resource server exempts from CSRF protection unless the CSRF matcher is
+     * customized.
+     */
+    private static ServerWebExchangeMatcher bearerTokenRequestMatcher() {
+        ServerBearerTokenAuthenticationConverter bearerTokenConverter = new ServerBearerTokenAuthenticationConverter();
+        return exchange ->
+            bearerTokenConverter
+                .convert(exchange)
+                .flatMap(authentication -> ServerWebExchangeMatcher.MatchResult.match())
+                .onErrorResume(e -> ServerWebExchangeMatcher.MatchResult.notMatch())
+                .switchIfEmpty(ServerWebExchangeMatcher.MatchResult.notMatch());
+    }
+
     Converter<Jwt, Mono<AbstractAuthenticationToken>> jwtAuthenticationConverter() {
-        JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(new JwtGrantedAuthorityConverter());
-        return new ReactiveJwtAuthenticationConverterAdapter(jwtAuthenticationConverter);
+        return new CachingJwtAuthenticationConverter(
+            new JwtGrantedAuthorityConverter(),
+            tokenCacheProperties.getMaximumSize(),
+            meterRegistry
+        );
     }
 
     /**
@@ -149,16 +193,24 @@ public class SecurityConfiguration {
         };
     }
 
+    @Bean(destroyMethod = "close")
+    RefreshingJwkSource jwkSource(ReactiveClientRegistrationRepository clientRegistrationRepository, WebClient.Builder webClientBuilder) {
+        // the key set URI is resolved when the keys are fetched, not while the beans are created
+        Mono<String> jwkSetUri = clientRegistrationRepository
+            .findByRegistrationId("oidc")
+            .map(clientRegistration -> clientRegistration.getProviderDetails().getJwkSetUri());
+        return new RefreshingJwkSource(webClientBuilder.build(), jwkSetUri, tokenCacheProperties.getJwkSetRefreshInterval());
+    }
+
     @Bean
-    ReactiveJwtDecoder jwtDecoder() {
-        NimbusReactiveJwtDecoder jwtDecoder = (NimbusReactiveJwtDecoder) ReactiveJwtDecoders.fromOidcIssuerLocation(issuerUri);
+    ReactiveJwtDecoder jwtDecoder(RefreshingJwkSource jwkSource) {
+        NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSource).build();
 
         OAuth2TokenValidator<Jwt> audienceValidator = new AudienceValidator(jHipsterProperties.getSecurity().getOauth2().getAudience());
         OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuerUri);
         OAuth2TokenValidator<Jwt> withAudience = new DelegatingOAuth2TokenValidator<>(withIssuer, audienceValidator);
 
         jwtDecoder.setJwtValidator(withAudience);
-
-        return jwtDecoder;
+        return new CachingJwtDecoder(jwtDecoder, tokenCacheProperties.getMaximumSize(), meterRegistry);
     }
 }
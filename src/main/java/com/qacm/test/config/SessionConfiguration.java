@@ -0,0 +1,63 @@
+package com.qacm.test.config;
+
+import com.qacm.test.service.CacheInvalidationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.config.annotation.web.server.EnableSpringWebSession;
+import org.springframework.session.data.mongo.JdkMongoSessionConverter;
+import org.springframework.session.data.mongo.MongoSession;
+import org.springframework.session.data.mongo.ReactiveMongoSessionRepository;
+
+/**
+ * Store of the login sessions in MongoDB, shared by all the instances, enabled with {@code application.session.store: mongo}.
+ * <p>
+ * Sessions expire with a TTL index, and their attributes are stored with {@link SessionSerialization compressed}
+ * serialization. With the default {@code memory} store, the sessions are kept by the default in-memory WebSession store.
+ * <p>
+ * The sessions are only kept in memory by {@link NearCachingSessionRepository} when a cache invalidation transport is configured:
+ * otherwise an instance would keep serving a session that was logged out or changed on another instance.
+ */
+@Configuration
+@EnableSpringWebSession
+@ConditionalOnProperty(name = "application.session.store", havingValue = "mongo")
+public class SessionConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(SessionConfiguration.class);
+
+    @Bean
+    public ReactiveSessionRepository<MongoSession> sessionRepository(
+        ReactiveMongoOperations mongoOperations,
+        MongoOperations blockingMongoOperations,
+        ApplicationProperties applicationProperties,
+        CacheInvalidationService cacheInvalidationService,
+        MeterRegistry meterRegistry
+    ) throws Exception {
+        ApplicationProperties.Session properties = applicationProperties.getSession();
+        JdkMongoSessionConverter converter = new JdkMongoSessionConverter(
+            SessionSerialization.serializer(),
+            SessionSerialization.deserializer(getClass().getClassLoader()),
+            properties.getTimeout()
+        );
+
+        ReactiveMongoSessionRepository sessionRepository = new ReactiveMongoSessionRepository(mongoOperations);
+        sessionRepository.setCollectionName(NearCachingSessionRepository.COLLECTION_NAME);
+        sessionRepository.setMaxInactiveIntervalInSeconds((int) properties.getTimeout().getSeconds());
+        sessionRepository.setMongoSessionConverter(converter);
+        // creates the TTL index on the expiration time of the sessions
+        sessionRepository.setBlockingMongoOperations(blockingMongoOperations);
+        sessionRepository.afterPropertiesSet();
+
+        if (!cacheInvalidationService.isDistributed()) {
+            log.info("No cache invalidation transport is configured, the sessions are read from MongoDB on every request");
+            return sessionRepository;
+        }
+        return new NearCachingSessionRepository(sessionRepository, converter, properties, cacheInvalidationService, meterRegistry);
+    }
+}
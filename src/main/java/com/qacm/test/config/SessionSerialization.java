@@ -0,0 +1,55 @@
+package com.qacm.test.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * Compressed Java serialization of the session attributes.
+ * <p>
+ * The security context of an OAuth 2.0 login holds the ID token, user info and authorities, which Java serialization writes
+ * with a lot of repeated class and field names that compress well.
+ */
+final class SessionSerialization {
+
+    private SessionSerialization() {}
+
+    static Converter<Object, byte[]> serializer() {
+        SerializingConverter serializingConverter = new SerializingConverter();
+        return source -> deflate(serializingConverter.convert(source));
+    }
+
+    static Converter<byte[], Object> deserializer(ClassLoader classLoader) {
+        DeserializingConverter deserializingConverter = new DeserializingConverter(classLoader);
+        return source -> deserializingConverter.convert(inflate(source));
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(bytes);
+        } catch (IOException e) {
+            throw new SerializationFailedException("Failed to compress the session attributes", e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new SerializationFailedException("Failed to decompress the session attributes", e);
+        }
+    }
+}
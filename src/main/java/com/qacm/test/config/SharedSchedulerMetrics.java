@@ -0,0 +1,51 @@
+package com.qacm.test.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.internal.TimedScheduledExecutorService;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Times the tasks of the shared {@link Schedulers#boundedElastic()} scheduler, which the libraries offload their blocking
+ * calls to, with the Micrometer {@code executor} and {@code executor.idle} timers tagged {@code name=boundedElastic}.
+ * <p>
+ * The scheduler itself is left as is: its executors, one per worker, are decorated when Reactor creates them. The timers of
+ * all the workers are shared, which keeps their number bounded as the workers come and go. The shared scheduler is told from
+ * the other bounded elastic schedulers by its description, which names the threads of its factory.
+ */
+final class SharedSchedulerMetrics {
+
+    private static final String DECORATOR_KEY = SharedSchedulerMetrics.class.getName();
+
+    private static final String SHARED_SCHEDULER_DESCRIPTION = Schedulers.BOUNDED_ELASTIC + "(\"" + Schedulers.BOUNDED_ELASTIC + "\"";
+
+    private SharedSchedulerMetrics() {}
+
+    /**
+     * Install the decorator, unless another application context of the JVM already did.
+     *
+     * @param meterRegistry the meter registry.
+     * @return true if the decorator was installed, and must be removed with {@link #uninstall()}.
+     */
+    static boolean install(MeterRegistry meterRegistry) {
+        return Schedulers.addExecutorServiceDecorator(
+            DECORATOR_KEY,
+            (scheduler, executor) ->
+                isShared(scheduler)
+                    ? new TimedScheduledExecutorService(meterRegistry, executor, Schedulers.BOUNDED_ELASTIC, "", Tags.empty())
+                    : executor
+        );
+    }
+
+    /**
+     * Remove the decorator; the executors already decorated keep their timers.
+     */
+    static void uninstall() {
+        Schedulers.removeExecutorServiceDecorator(DECORATOR_KEY);
+    }
+
+    private static boolean isShared(Scheduler scheduler) {
+        return scheduler.toString().startsWith(SHARED_SCHEDULER_DESCRIPTION);
+    }
+}
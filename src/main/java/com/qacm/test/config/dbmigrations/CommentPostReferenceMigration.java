@@ -0,0 +1,44 @@
+package com.qacm.test.config.dbmigrations;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.client.result.UpdateResult;
+import com.qacm.test.domain.Comment;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Reduces the post embedded in comments, previously a copy of the whole post document, to a reference made of its id and title.
+ */
+@ChangeUnit(id = "comment-post-reference", order = "003")
+public class CommentPostReferenceMigration {
+
+    private static final String[] REMOVED_POST_FIELDS = { "required", "creation_date", "creator" };
+
+    private final Logger log = LoggerFactory.getLogger(CommentPostReferenceMigration.class);
+
+    private final MongoTemplate template;
+
+    public CommentPostReferenceMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        Update update = new Update();
+        for (String field : REMOVED_POST_FIELDS) {
+            update.unset("post." + field);
+        }
+        UpdateResult result = template.updateMulti(new Query(where("post").exists(true)), update, Comment.class);
+        log.info("Reduced the post of {} comments to a reference", result.getModifiedCount());
+    }
+
+    @RollbackExecution
+    public void rollback() {}
+}
@@ -0,0 +1,45 @@
+package com.qacm.test.config.dbmigrations;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.client.result.UpdateResult;
+import com.qacm.test.domain.Comment;
+import com.qacm.test.domain.Post;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Initializes the version of the posts and comments created before they were versioned.
+ * <p>
+ * Spring Data inserts a versioned entity whose version is null, so saving such a document would fail with a duplicate key.
+ */
+@ChangeUnit(id = "entity-version", order = "005")
+public class EntityVersionMigration {
+
+    private final Logger log = LoggerFactory.getLogger(EntityVersionMigration.class);
+
+    private final MongoTemplate template;
+
+    public EntityVersionMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        Query unversioned = new Query(where("version").exists(false));
+        for (Class<?> entityClass : List.of(Post.class, Comment.class)) {
+            UpdateResult result = template.updateMulti(unversioned, new Update().set("version", 0L), entityClass);
+            log.info("Initialized the version of {} {} documents", result.getModifiedCount(), entityClass.getSimpleName());
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {}
+}
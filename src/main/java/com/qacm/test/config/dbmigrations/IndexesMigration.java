@@ -0,0 +1,50 @@
+package com.qacm.test.config.dbmigrations;
+
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+/**
+ * Builds the indexes declared on the documents with {@link org.springframework.data.mongodb.core.index.Indexed} and
+ * {@link org.springframework.data.mongodb.core.index.CompoundIndex} annotations.
+ * <p>
+ * Automatic index creation is disabled in Spring Data MongoDB, so this change runs on every startup: creating an index
+ * that already exists is a no-op.
+ */
+@ChangeUnit(id = "indexes", order = "004", runAlways = true)
+public class IndexesMigration {
+
+    private final Logger log = LoggerFactory.getLogger(IndexesMigration.class);
+
+    private final MongoTemplate template;
+
+    public IndexesMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(template.getConverter().getMappingContext());
+        for (MongoPersistentEntity<?> entity : template.getConverter().getMappingContext().getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOperations = template.indexOps(entity.getType());
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                log.debug("Ensuring index {} on {}", index.getIndexKeys(), entity.getCollection());
+                indexOperations.ensureIndex(index);
+            }
+        }
+    }
+
+    @RollbackExecution
+    public void rollback() {}
+}
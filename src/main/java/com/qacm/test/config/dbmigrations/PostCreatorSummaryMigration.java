@@ -0,0 +1,54 @@
+package com.qacm.test.config.dbmigrations;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.client.result.UpdateResult;
+import com.qacm.test.domain.Post;
+import io.mongock.api.annotations.ChangeUnit;
+import io.mongock.api.annotations.Execution;
+import io.mongock.api.annotations.RollbackExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Reduces the creator embedded in posts, previously a copy of the whole user document, to a {@link com.qacm.test.domain.UserSummary}.
+ */
+@ChangeUnit(id = "post-creator-summary", order = "002")
+public class PostCreatorSummaryMigration {
+
+    private static final String[] REMOVED_CREATOR_FIELDS = {
+        "email",
+        "activated",
+        "lang_key",
+        "image_url",
+        "authorities",
+        "created_by",
+        "created_date",
+        "last_modified_by",
+        "last_modified_date",
+    };
+
+    private final Logger log = LoggerFactory.getLogger(PostCreatorSummaryMigration.class);
+
+    private final MongoTemplate template;
+
+    public PostCreatorSummaryMigration(MongoTemplate template) {
+        this.template = template;
+    }
+
+    @Execution
+    public void changeSet() {
+        Update update = new Update();
+        for (String field : REMOVED_CREATOR_FIELDS) {
+            update.unset("creator." + field);
+        }
+        UpdateResult result = template.updateMulti(new Query(where("creator").exists(true)), update, Post.class);
+        log.info("Reduced the creator of {} posts to a user summary", result.getModifiedCount());
+    }
+
+    @RollbackExecution
+    public void rollback() {}
+}
@@ -3,18 +3,24 @@ package com.qacm.test.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.Serializable;
 import java.time.Instant;
+import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 /**
  * Base abstract class for entities which will hold definitions for created, last modified, created by,
  * last modified by attributes.
+ * <p>
+ * The attributes are left empty until the entity is saved: they are filled in by the {@code AuditingEntityCallback}, or by the
+ * {@code BulkWriteService} for bulk writes.
  */
 public abstract class AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    @CreatedBy
     @Field("created_by")
     @JsonIgnore
     private String createdBy;
@@ -22,8 +28,9 @@ public abstract class AbstractAuditingEntity implements Serializable {
     @CreatedDate
     @Field("created_date")
     @JsonIgnore
-    private Instant createdDate = Instant.now();
+    private Instant createdDate;
 
+    @LastModifiedBy
     @Field("last_modified_by")
     @JsonIgnore
     private String lastModifiedBy;
@@ -31,7 +38,7 @@ public abstract class AbstractAuditingEntity implements Serializable {
     @LastModifiedDate
     @Field("last_modified_date")
     @JsonIgnore
-    private Instant lastModifiedDate = Instant.now();
+    private Instant lastModifiedDate;
 
     public String getCreatedBy() {
         return createdBy;
@@ -5,6 +5,9 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -12,7 +15,19 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * A Comment.
  */
 @Document(collection = "comment")
-public class Comment implements Serializable {
+@CompoundIndexes(
+    {
+        @CompoundIndex(name = "text_id", def = "{'text': 1, '_id': 1}"),
+        @CompoundIndex(name = "text_desc_id", def = "{'text': -1, '_id': 1}"),
+        @CompoundIndex(name = "creaion_date_id", def = "{'creaion_date': 1, '_id': 1}"),
+        @CompoundIndex(name = "creaion_date_desc_id", def = "{'creaion_date': -1, '_id': 1}"),
+        @CompoundIndex(name = "post_title_id", def = "{'post.title': 1, '_id': 1}"),
+        @CompoundIndex(name = "post_title_desc_id", def = "{'post.title': -1, '_id': 1}"),
+        @CompoundIndex(name = "post_id", def = "{'post._id': 1, '_id': 1}"),
+        @CompoundIndex(name = "post_id_creaion_date_id", def = "{'post._id': 1, 'creaion_date': 1, '_id': 1}"),
+    }
+)
+public class Comment extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -27,9 +42,13 @@ public class Comment implements Serializable {
     private LocalDate creaionDate;
 
     @Field("post")
-    @JsonIgnoreProperties(value = { "creator" }, allowSetters = true)
+    @JsonIgnoreProperties(value = { "creator", "version" }, allowSetters = true)
     private Post post;
 
+    @Version
+    @Field("version")
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public String getId() {
@@ -84,6 +103,19 @@ public class Comment implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Comment version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -110,6 +142,7 @@ public class Comment implements Serializable {
             "id=" + getId() +
             ", text='" + getText() + "'" +
             ", creaionDate='" + getCreaionDate() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -4,6 +4,9 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -11,7 +14,19 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * A Post.
  */
 @Document(collection = "post")
-public class Post implements Serializable {
+@CompoundIndexes(
+    {
+        @CompoundIndex(name = "title_id", def = "{'title': 1, '_id': 1}"),
+        @CompoundIndex(name = "title_desc_id", def = "{'title': -1, '_id': 1}"),
+        @CompoundIndex(name = "required_id", def = "{'required': 1, '_id': 1}"),
+        @CompoundIndex(name = "required_desc_id", def = "{'required': -1, '_id': 1}"),
+        @CompoundIndex(name = "creation_date_id", def = "{'creation_date': 1, '_id': 1}"),
+        @CompoundIndex(name = "creation_date_desc_id", def = "{'creation_date': -1, '_id': 1}"),
+        @CompoundIndex(name = "creator_login_id", def = "{'creator.login': 1, '_id': 1}"),
+        @CompoundIndex(name = "creator_login_desc_id", def = "{'creator.login': -1, '_id': 1}"),
+    }
+)
+public class Post extends AbstractAuditingEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +43,11 @@ public class Post implements Serializable {
     private LocalDate creationDate;
 
     @Field("creator")
-    private User creator;
+    private UserSummary creator;
+
+    @Version
+    @Field("version")
+    private Long version;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
@@ -84,19 +103,32 @@ public class Post implements Serializable {
         this.creationDate = creationDate;
     }
 
-    public User getCreator() {
+    public UserSummary getCreator() {
         return this.creator;
     }
 
-    public void setCreator(User user) {
-        this.creator = user;
+    public void setCreator(UserSummary userSummary) {
+        this.creator = userSummary;
+    }
+
+    public Post creator(UserSummary userSummary) {
+        this.setCreator(userSummary);
+        return this;
+    }
+
+    public Long getVersion() {
+        return this.version;
     }
 
-    public Post creator(User user) {
-        this.setCreator(user);
+    public Post version(Long version) {
+        this.setVersion(version);
         return this;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -124,6 +156,7 @@ public class Post implements Serializable {
             ", title='" + getTitle() + "'" +
             ", required='" + getRequired() + "'" +
             ", creationDate='" + getCreationDate() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,117 @@
+package com.qacm.test.domain;
+
+import java.io.Serializable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A reference to a {@link User}, with a denormalized summary of the user.
+ * <p>
+ * Entities embed this summary instead of the whole user document, and refresh it from the {@code jhi_user} collection
+ * when they are loaded with their relationships.
+ */
+public class UserSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @Field("login")
+    private String login;
+
+    @Field("first_name")
+    private String firstName;
+
+    @Field("last_name")
+    private String lastName;
+
+    /**
+     * Create the summary of a user.
+     *
+     * @param user the user.
+     * @return the summary.
+     */
+    public static UserSummary of(User user) {
+        return new UserSummary().id(user.getId()).login(user.getLogin()).firstName(user.getFirstName()).lastName(user.getLastName());
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public UserSummary id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLogin() {
+        return this.login;
+    }
+
+    public UserSummary login(String login) {
+        this.setLogin(login);
+        return this;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getFirstName() {
+        return this.firstName;
+    }
+
+    public UserSummary firstName(String firstName) {
+        this.setFirstName(firstName);
+        return this;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return this.lastName;
+    }
+
+    public UserSummary lastName(String lastName) {
+        this.setLastName(lastName);
+        return this;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserSummary)) {
+            return false;
+        }
+        return id != null && id.equals(((UserSummary) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserSummary{" +
+            "id='" + id + '\'' +
+            ", login='" + login + '\'' +
+            ", firstName='" + firstName + '\'' +
+            ", lastName='" + lastName + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,43 @@
+package com.qacm.test.repository;
+
+import com.qacm.test.domain.AbstractAuditingEntity;
+import java.time.Instant;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the audit fields of the entities saved by the reactive template and repositories.
+ * <p>
+ * The creator is only set when the entity has none, so that it works for entities whose id is assigned before their first
+ * save. Updates that do not save the whole entity set the audit fields themselves, see {@link VersionedUpdates}.
+ */
+@Component
+public class AuditingEntityCallback implements ReactiveBeforeConvertCallback<AbstractAuditingEntity> {
+
+    private final ReactiveAuditorAware<String> auditorAware;
+
+    public AuditingEntityCallback(ReactiveAuditorAware<String> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public Publisher<AbstractAuditingEntity> onBeforeConvert(AbstractAuditingEntity entity, String collection) {
+        return auditorAware
+            .getCurrentAuditor()
+            .map(auditor -> {
+                Instant now = Instant.now();
+                if (entity.getCreatedBy() == null) {
+                    entity.setCreatedBy(auditor);
+                }
+                if (entity.getCreatedDate() == null) {
+                    entity.setCreatedDate(now);
+                }
+                entity.setLastModifiedBy(auditor);
+                entity.setLastModifiedDate(now);
+                return entity;
+            })
+            .defaultIfEmpty(entity);
+    }
+}
@@ -6,4 +6,4 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 /**
  * Spring Data MongoDB repository for the {@link Authority} entity.
  */
-public interface AuthorityRepository extends ReactiveMongoRepository<Authority, String> {}
+public interface AuthorityRepository extends ReactiveMongoRepository<Authority, String>, AuthorityRepositoryInternal {}
@@ -0,0 +1,19 @@
+package com.qacm.test.repository;
+
+import java.util.Collection;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom queries of the {@link AuthorityRepository} that cannot be derived from method names.
+ */
+public interface AuthorityRepositoryInternal {
+    /**
+     * Insert the authorities that do not exist yet, with a single bulk write.
+     * <p>
+     * Existing authorities are left as they are, so that concurrent calls with the same names are harmless.
+     *
+     * @param names the names of the authorities.
+     * @return a Mono to signal the upsert.
+     */
+    Mono<Void> upsertAll(Collection<String> names);
+}
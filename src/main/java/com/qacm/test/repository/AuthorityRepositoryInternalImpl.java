@@ -0,0 +1,61 @@
+package com.qacm.test.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.qacm.test.domain.Authority;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the {@link AuthorityRepositoryInternal} fragment, based on the {@link ReactiveMongoTemplate}.
+ */
+class AuthorityRepositoryInternalImpl implements AuthorityRepositoryInternal {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final ReactiveMongoTemplate template;
+
+    AuthorityRepositoryInternalImpl(ReactiveMongoTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Mono<Void> upsertAll(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Mono.empty();
+        }
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        List<ReplaceOneModel<Document>> models = names
+            .stream()
+            .map(name -> new ReplaceOneModel<>(Filters.eq("_id", name), toDocument(name), upsert))
+            .collect(Collectors.toList());
+        return template
+            .getCollection(template.getCollectionName(Authority.class))
+            .flatMap(collection -> Mono.from(collection.bulkWrite(models, new BulkWriteOptions().ordered(false))))
+            // an authority upserted concurrently by another login or instance is already there
+            .onErrorResume(AuthorityRepositoryInternalImpl::isDuplicateKeyError, e -> Mono.empty())
+            .then();
+    }
+
+    private static boolean isDuplicateKeyError(Throwable e) {
+        return (
+            e instanceof MongoBulkWriteException &&
+            ((MongoBulkWriteException) e).getWriteErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY_ERROR_CODE)
+        );
+    }
+
+    private Document toDocument(String name) {
+        Authority authority = new Authority();
+        authority.setName(name);
+        Document document = new Document();
+        template.getConverter().write(authority, document);
+        return document;
+    }
+}
@@ -0,0 +1,73 @@
+package com.qacm.test.repository;
+
+import com.qacm.test.domain.Comment;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom queries of the {@link CommentRepository} that cannot be derived from method names.
+ */
+public interface CommentRepositoryInternal {
+    /**
+     * Find a keyset (cursor) page of comments.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities.
+     * @return the entities, in query order.
+     */
+    Flux<Comment> findAllByKeyset(Keyset keyset, int limit);
+
+    /**
+     * Find a keyset (cursor) page of comments, with their post references replaced with their posts.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities.
+     * @return the entities, in query order.
+     */
+    Flux<Comment> findAllByKeysetWithEagerRelationships(Keyset keyset, int limit);
+
+    /**
+     * Find a keyset (cursor) page of the comments of a post.
+     *
+     * @param postId the id of the post.
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities, or {@code 0} for no limit.
+     * @return the entities, in query order.
+     */
+    Flux<Comment> findAllByPostIdAndKeyset(String postId, Keyset keyset, int limit);
+
+    /**
+     * Find a page of comments, with their posts loaded from the post collection.
+     *
+     * @param pageable the pagination information.
+     * @return the entities.
+     */
+    Flux<Comment> findAllWithEagerRelationships(Pageable pageable);
+
+    /**
+     * Find a comment, with its post loaded from the post collection.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Mono<Comment> findOneWithEagerRelationships(String id);
+
+    /**
+     * Replace the fields of a comment and increment its version, with a single atomic command.
+     *
+     * @param comment the entity to update, with the version it was read at, or without version to overwrite any version.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the entity was modified since its version.
+     */
+    Mono<Comment> update(Comment comment);
+
+    /**
+     * Set the non-null fields of a comment and increment its version, with a single atomic command.
+     *
+     * @param comment the entity to update partially, with the version it was read at, or without version to overwrite any version.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the entity was modified since its version.
+     */
+    Mono<Comment> partialUpdate(Comment comment);
+}
@@ -0,0 +1,110 @@
+package com.qacm.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.qacm.test.domain.Comment;
+import com.qacm.test.domain.Post;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the {@link CommentRepositoryInternal} fragment, based on the {@link ReactiveMongoTemplate}.
+ */
+class CommentRepositoryInternalImpl implements CommentRepositoryInternal {
+
+    private final ReactiveMongoTemplate template;
+
+    private final ReactiveAuditorAware<String> auditorAware;
+
+    CommentRepositoryInternalImpl(ReactiveMongoTemplate template, ReactiveAuditorAware<String> auditorAware) {
+        this.template = template;
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public Flux<Comment> findAllByKeyset(Keyset keyset, int limit) {
+        return template.find(keyset.toQuery(limit), Comment.class);
+    }
+
+    @Override
+    public Flux<Comment> findAllByKeysetWithEagerRelationships(Keyset keyset, int limit) {
+        return template.find(keyset.toQuery(limit), Comment.class).collectList().flatMapMany(this::withPosts);
+    }
+
+    @Override
+    public Flux<Comment> findAllByPostIdAndKeyset(String postId, Keyset keyset, int limit) {
+        return template.find(keyset.toQuery(where("post.id").is(postId), limit), Comment.class);
+    }
+
+    @Override
+    public Flux<Comment> findAllWithEagerRelationships(Pageable pageable) {
+        return template.find(new Query().with(pageable), Comment.class).collectList().flatMapMany(this::withPosts);
+    }
+
+    @Override
+    public Mono<Comment> findOneWithEagerRelationships(String id) {
+        return template.findById(id, Comment.class).flatMap(comment -> withPosts(List.of(comment)).next());
+    }
+
+    @Override
+    public Mono<Comment> update(Comment comment) {
+        Update update = new Update()
+            .set("text", comment.getText())
+            .set("creaionDate", comment.getCreaionDate())
+            .set("post", comment.getPost());
+        return VersionedUpdates.findAndModify(template, auditorAware, comment.getId(), comment.getVersion(), update, Comment.class);
+    }
+
+    @Override
+    public Mono<Comment> partialUpdate(Comment comment) {
+        Update update = new Update();
+        if (comment.getText() != null) {
+            update.set("text", comment.getText());
+        }
+        if (comment.getCreaionDate() != null) {
+            update.set("creaionDate", comment.getCreaionDate());
+        }
+        return VersionedUpdates.findAndModify(template, auditorAware, comment.getId(), comment.getVersion(), update, Comment.class);
+    }
+
+    /**
+     * Replace the post references of comments with their posts, with a single query on the posts of the comments.
+     * Comments whose post no longer exists keep their stored reference.
+     */
+    private Flux<Comment> withPosts(List<Comment> comments) {
+        Set<String> postIds = comments
+            .stream()
+            .map(Comment::getPost)
+            .filter(Objects::nonNull)
+            .map(Post::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (postIds.isEmpty()) {
+            return Flux.fromIterable(comments);
+        }
+        Query query = new Query(where("id").in(postIds));
+        // the creator of a post is not serialized with its comments
+        query.fields().exclude("creator");
+        return template
+            .find(query, Post.class)
+            .collectMap(Post::getId, Function.identity())
+            .flatMapMany(posts -> {
+                comments.forEach(comment -> {
+                    if (comment.getPost() != null && posts.containsKey(comment.getPost().getId())) {
+                        comment.setPost(posts.get(comment.getPost().getId()));
+                    }
+                });
+                return Flux.fromIterable(comments);
+            });
+    }
+}
@@ -0,0 +1,172 @@
+package com.qacm.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Position of a keyset (cursor) page.
+ * <p>
+ * A keyset page is ordered either by {@code id} alone, or by a single property with {@code id} as tie-breaker,
+ * and starts right after (or right before, when {@link #isBackward() backward}) a boundary document.
+ * Unlike offset pagination, the database never has to skip documents, so deep pages cost the same as the first one.
+ */
+public final class Keyset {
+
+    public static final String ID_PROPERTY = "id";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final Object value;
+
+    private final String id;
+
+    private final boolean backward;
+
+    private Keyset(String property, Sort.Direction direction, Object value, String id, boolean backward) {
+        this.property = property;
+        this.direction = Objects.requireNonNull(direction);
+        this.value = value;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    /**
+     * Create the keyset of the first page.
+     *
+     * @param property the sort property, or {@code null} to sort by {@code id} only.
+     * @param direction the sort direction.
+     * @return the keyset.
+     */
+    public static Keyset first(String property, Sort.Direction direction) {
+        return new Keyset(normalize(property), direction, null, null, false);
+    }
+
+    /**
+     * Create the keyset of the page following a boundary document.
+     *
+     * @param property the sort property, or {@code null} to sort by {@code id} only.
+     * @param direction the sort direction.
+     * @param value the sort property value of the boundary document.
+     * @param id the id of the boundary document.
+     * @return the keyset.
+     */
+    public static Keyset after(String property, Sort.Direction direction, Object value, String id) {
+        return new Keyset(normalize(property), direction, value, Objects.requireNonNull(id), false);
+    }
+
+    /**
+     * Create the keyset of the page preceding a boundary document.
+     *
+     * @param property the sort property, or {@code null} to sort by {@code id} only.
+     * @param direction the sort direction.
+     * @param value the sort property value of the boundary document.
+     * @param id the id of the boundary document.
+     * @return the keyset.
+     */
+    public static Keyset before(String property, Sort.Direction direction, Object value, String id) {
+        return new Keyset(normalize(property), direction, value, Objects.requireNonNull(id), true);
+    }
+
+    private static String normalize(String property) {
+        return ID_PROPERTY.equals(property) ? null : property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    /**
+     * Build the query selecting the page.
+     * <p>
+     * Documents are returned in query order, which is the reverse of the requested order for a backward page.
+     *
+     * @param limit the maximum number of documents.
+     * @return the query.
+     */
+    public Query toQuery(int limit) {
+        return toQuery(null, limit);
+    }
+
+    /**
+     * Build the query selecting the page among the documents matching a filter.
+     *
+     * @param filter the filter, or {@code null} for none.
+     * @param limit the maximum number of documents.
+     * @return the query.
+     */
+    public Query toQuery(Criteria filter, int limit) {
+        boolean ascending = direction.isAscending() != backward;
+        Sort.Direction queryDirection = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Query query = new Query().limit(limit);
+        Criteria boundary = isFirst() ? null : boundary(ascending);
+        if (filter != null && boundary != null) {
+            query.addCriteria(new Criteria().andOperator(filter, boundary));
+        } else if (filter != null) {
+            query.addCriteria(filter);
+        } else if (boundary != null) {
+            query.addCriteria(boundary);
+        }
+        if (property == null) {
+            return query.with(Sort.by(queryDirection, ID_PROPERTY));
+        }
+        return query.with(Sort.by(queryDirection, property, ID_PROPERTY));
+    }
+
+    private Criteria boundary(boolean ascending) {
+        Criteria afterId = ascending ? where(ID_PROPERTY).gt(id) : where(ID_PROPERTY).lt(id);
+        if (property == null) {
+            return afterId;
+        }
+        // MongoDB sorts missing and null values first, and range operators never match them
+        if (value == null) {
+            if (ascending) {
+                return new Criteria().orOperator(where(property).ne(null), new Criteria().andOperator(where(property).is(null), afterId));
+            }
+            return new Criteria().andOperator(where(property).is(null), afterId);
+        }
+        Criteria afterValue = ascending ? where(property).gt(value) : where(property).lt(value);
+        Criteria sameValue = new Criteria().andOperator(where(property).is(value), afterId);
+        if (ascending) {
+            return new Criteria().orOperator(afterValue, sameValue);
+        }
+        return new Criteria().orOperator(afterValue, sameValue, where(property).is(null));
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Keyset{" +
+            "property='" + property + "'" +
+            ", direction=" + direction +
+            ", value='" + value + "'" +
+            ", id='" + id + "'" +
+            ", backward=" + backward +
+            "}";
+    }
+}
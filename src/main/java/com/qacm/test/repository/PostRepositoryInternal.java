@@ -0,0 +1,63 @@
+package com.qacm.test.repository;
+
+import com.qacm.test.domain.Post;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom queries of the {@link PostRepository} that cannot be derived from method names.
+ */
+public interface PostRepositoryInternal {
+    /**
+     * Find a keyset (cursor) page of posts.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities.
+     * @return the entities, in query order.
+     */
+    Flux<Post> findAllByKeyset(Keyset keyset, int limit);
+
+    /**
+     * Find a keyset (cursor) page of posts, with their creator summaries refreshed from the users.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities.
+     * @return the entities, in query order.
+     */
+    Flux<Post> findAllByKeysetWithEagerRelationships(Keyset keyset, int limit);
+
+    /**
+     * Find a page of posts, with their creator summaries refreshed from the users.
+     *
+     * @param pageable the pagination information.
+     * @return the entities.
+     */
+    Flux<Post> findAllWithEagerRelationships(Pageable pageable);
+
+    /**
+     * Find a post, with its creator summary refreshed from the user.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Mono<Post> findOneWithEagerRelationships(String id);
+
+    /**
+     * Replace the fields of a post and increment its version, with a single atomic command.
+     *
+     * @param post the entity to update, with the version it was read at, or without version to overwrite any version.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the entity was modified since its version.
+     */
+    Mono<Post> update(Post post);
+
+    /**
+     * Set the non-null fields of a post and increment its version, with a single atomic command.
+     *
+     * @param post the entity to update partially, with the version it was read at, or without version to overwrite any version.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the entity was modified since its version.
+     */
+    Mono<Post> partialUpdate(Post post);
+}
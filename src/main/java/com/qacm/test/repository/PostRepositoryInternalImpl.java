@@ -0,0 +1,116 @@
+package com.qacm.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.qacm.test.domain.Post;
+import com.qacm.test.domain.User;
+import com.qacm.test.domain.UserSummary;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the {@link PostRepositoryInternal} fragment, based on the {@link ReactiveMongoTemplate}.
+ */
+class PostRepositoryInternalImpl implements PostRepositoryInternal {
+
+    private final ReactiveMongoTemplate template;
+
+    private final ReactiveAuditorAware<String> auditorAware;
+
+    PostRepositoryInternalImpl(ReactiveMongoTemplate template, ReactiveAuditorAware<String> auditorAware) {
+        this.template = template;
+        this.auditorAware = auditorAware;
+    }
+
+    @Override
+    public Flux<Post> findAllByKeyset(Keyset keyset, int limit) {
+        return template.find(keyset.toQuery(limit), Post.class);
+    }
+
+    @Override
+    public Flux<Post> findAllByKeysetWithEagerRelationships(Keyset keyset, int limit) {
+        return template.find(keyset.toQuery(limit), Post.class).collectList().flatMapMany(this::withCreators);
+    }
+
+    @Override
+    public Flux<Post> findAllWithEagerRelationships(Pageable pageable) {
+        return template.find(new Query().with(pageable), Post.class).collectList().flatMapMany(this::withCreators);
+    }
+
+    @Override
+    public Mono<Post> findOneWithEagerRelationships(String id) {
+        return template.findById(id, Post.class).flatMap(post -> withCreators(List.of(post)).next());
+    }
+
+    @Override
+    public Mono<Post> update(Post post) {
+        Update update = new Update()
+            .set("title", post.getTitle())
+            .set("required", post.getRequired())
+            .set("creationDate", post.getCreationDate())
+            .set("creator", post.getCreator());
+        return VersionedUpdates.findAndModify(template, auditorAware, post.getId(), post.getVersion(), update, Post.class);
+    }
+
+    @Override
+    public Mono<Post> partialUpdate(Post post) {
+        return VersionedUpdates.findAndModify(template, auditorAware, post.getId(), post.getVersion(), toPartialUpdate(post), Post.class);
+    }
+
+    /**
+     * Get the update of the fields sent for a partial update, the null fields being left unchanged.
+     */
+    static Update toPartialUpdate(Post post) {
+        Update update = new Update();
+        if (post.getTitle() != null) {
+            update.set("title", post.getTitle());
+        }
+        if (post.getRequired() != null) {
+            update.set("required", post.getRequired());
+        }
+        if (post.getCreationDate() != null) {
+            update.set("creationDate", post.getCreationDate());
+        }
+        return update;
+    }
+
+    /**
+     * Refresh the creator summaries of posts, with a single query on the users of the posts.
+     * Posts whose creator no longer exists keep their stored summary.
+     */
+    private Flux<Post> withCreators(List<Post> posts) {
+        Set<String> creatorIds = posts
+            .stream()
+            .map(Post::getCreator)
+            .filter(Objects::nonNull)
+            .map(UserSummary::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (creatorIds.isEmpty()) {
+            return Flux.fromIterable(posts);
+        }
+        Query query = new Query(where("id").in(creatorIds));
+        query.fields().include("login", "firstName", "lastName");
+        return template
+            .find(query, UserSummary.class, template.getCollectionName(User.class))
+            .collectMap(UserSummary::getId, Function.identity())
+            .flatMapMany(creators -> {
+                posts.forEach(post -> {
+                    if (post.getCreator() != null && creators.containsKey(post.getCreator().getId())) {
+                        post.setCreator(creators.get(post.getCreator().getId()));
+                    }
+                });
+                return Flux.fromIterable(posts);
+            });
+    }
+}
@@ -0,0 +1,189 @@
+package com.qacm.test.repository;
+
+import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.config.Constants;
+import com.qacm.test.domain.Comment;
+import com.qacm.test.domain.Post;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Checks that the sort orders of the paginated list endpoints are supported by an index.
+ * <p>
+ * MongoDB can use an index to sort when the sort keys are a prefix of the index keys, with either the same directions or
+ * all the directions reversed. Otherwise it sorts in memory, after scanning the whole collection.
+ */
+@Component
+public class SortIndexes {
+
+    /**
+     * Properties that the list endpoints can be sorted by, always followed by {@code id} as tie-breaker.
+     */
+    private static final Map<Class<?>, List<String>> SORTABLE_PROPERTIES = Map.of(
+        Post.class,
+        List.of("title", "required", "creationDate", "creator.login"),
+        Comment.class,
+        List.of("text", "creaionDate", "post.title")
+    );
+
+    private static final Duration INDEXES_REFRESH = Duration.ofMinutes(5);
+
+    private final Logger log = LoggerFactory.getLogger(SortIndexes.class);
+
+    private final ReactiveMongoTemplate template;
+
+    private final ApplicationProperties.Indexes.SortCheck sortCheck;
+
+    private final boolean deferredMigrations;
+
+    private final Map<Class<?>, Mono<List<IndexInfo>>> indexes = new ConcurrentHashMap<>();
+
+    private final Set<String> warnedSorts = ConcurrentHashMap.newKeySet();
+
+    public SortIndexes(ReactiveMongoTemplate template, ApplicationProperties properties, Environment environment) {
+        this.template = template;
+        this.sortCheck = properties.getIndexes().getSortCheck();
+        this.deferredMigrations = environment.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_FAST_START));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // with deferred migrations, the indexes are checked once they are built
+        if (!deferredMigrations) {
+            checkSortableProperties();
+        }
+    }
+
+    /**
+     * Check at startup, once the migrations built the indexes, that an index supports each sortable property, in both directions.
+     *
+     * @throws IllegalStateException if a sort order has no supporting index, and the sort check is configured to fail.
+     */
+    public void checkSortableProperties() {
+        if (sortCheck == ApplicationProperties.Indexes.SortCheck.OFF) {
+            return;
+        }
+        List<String> unsupportedSorts = new ArrayList<>();
+        SORTABLE_PROPERTIES.forEach((entityClass, properties) -> {
+            for (String property : properties) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    Sort sort = Sort.by(direction, property).and(Sort.by(Keyset.ID_PROPERTY));
+                    if (!Boolean.TRUE.equals(isSupported(entityClass, sort).block())) {
+                        unsupportedSorts.add(entityClass.getSimpleName() + " " + sort);
+                    }
+                }
+            }
+        });
+        if (unsupportedSorts.isEmpty()) {
+            return;
+        }
+        if (sortCheck == ApplicationProperties.Indexes.SortCheck.FAIL) {
+            throw new IllegalStateException("No index supports the sort orders " + unsupportedSorts);
+        }
+        log.warn("No index supports the sort orders {}", unsupportedSorts);
+    }
+
+    /**
+     * Check whether a requested sort order is allowed.
+     * <p>
+     * An unsupported sort order is allowed, and logged the first time it is requested, unless the sort check is configured to fail.
+     *
+     * @param entityClass the entity class of the collection.
+     * @param sort the sort order.
+     * @return true if the sort order is allowed.
+     */
+    public Mono<Boolean> isAllowed(Class<?> entityClass, Sort sort) {
+        if (sortCheck == ApplicationProperties.Indexes.SortCheck.OFF || sort.isUnsorted()) {
+            return Mono.just(true);
+        }
+        return isSupported(entityClass, sort)
+            .map(supported -> {
+                if (supported || sortCheck == ApplicationProperties.Indexes.SortCheck.FAIL) {
+                    return supported;
+                }
+                if (warnedSorts.add(entityClass.getSimpleName() + " " + sort)) {
+                    log.warn("No index supports sorting {} by {}", entityClass.getSimpleName(), sort);
+                }
+                return true;
+            });
+    }
+
+    /**
+     * Check whether an index supports a sort order.
+     *
+     * @param entityClass the entity class of the collection.
+     * @param sort the sort order, by entity properties.
+     * @return true if an index supports the sort order.
+     */
+    public Mono<Boolean> isSupported(Class<?> entityClass, Sort sort) {
+        if (sort.isUnsorted()) {
+            return Mono.just(true);
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        try {
+            for (Sort.Order order : sort) {
+                orders.add(order.withProperty(toFieldName(entityClass, order.getProperty())));
+            }
+        } catch (MappingException e) {
+            return Mono.just(false);
+        }
+        return indexes
+            .computeIfAbsent(entityClass, this::loadIndexes)
+            .map(indexInfos -> indexInfos.stream().anyMatch(indexInfo -> supports(indexInfo.getIndexFields(), orders)));
+    }
+
+    private Mono<List<IndexInfo>> loadIndexes(Class<?> entityClass) {
+        return template
+            .indexOps(entityClass)
+            .getIndexInfo()
+            .collectList()
+            .cache(indexInfos -> INDEXES_REFRESH, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private String toFieldName(Class<?> entityClass, String property) {
+        return template
+            .getConverter()
+            .getMappingContext()
+            .getPersistentPropertyPath(property, entityClass)
+            .toDotPath(MongoPersistentProperty::getFieldName);
+    }
+
+    private static boolean supports(List<IndexField> indexFields, List<Sort.Order> orders) {
+        if (indexFields.size() < orders.size()) {
+            return false;
+        }
+        Boolean reversed = null;
+        for (int i = 0; i < orders.size(); i++) {
+            IndexField indexField = indexFields.get(i);
+            Sort.Order order = orders.get(i);
+            if (indexField.getDirection() == null || !indexField.getKey().equals(order.getProperty())) {
+                return false;
+            }
+            boolean sameDirection = indexField.getDirection() == order.getDirection();
+            if (reversed == null) {
+                reversed = !sameDirection;
+            } else if (reversed == sameDirection) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.qacm.test.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.qacm.test.domain.AbstractAuditingEntity;
+import java.time.Instant;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+/**
+ * Atomic updates of versioned entities.
+ * <p>
+ * The entity is updated and returned by a single {@code findAndModify} command, matching its id and, when the client sent it,
+ * its version. Only when nothing matched is the collection queried again, to tell a missing entity from a concurrent edit.
+ * The entity callbacks are not called for such updates, so the last modification audit fields are set with the update.
+ */
+final class VersionedUpdates {
+
+    static final String VERSION_PROPERTY = "version";
+
+    private VersionedUpdates() {}
+
+    /**
+     * Update an entity, increment its version and record its last modification.
+     *
+     * @param template the template.
+     * @param auditorAware the auditor of the modification.
+     * @param id the id of the entity.
+     * @param version the version the entity is expected to have, or null to update any version.
+     * @param update the update of the entity fields.
+     * @param entityClass the entity class.
+     * @param <T> the type of the entity.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws OptimisticLockingFailureException if the entity has another version.
+     */
+    static <T extends AbstractAuditingEntity> Mono<T> findAndModify(
+        ReactiveMongoTemplate template,
+        ReactiveAuditorAware<String> auditorAware,
+        String id,
+        Long version,
+        Update update,
+        Class<T> entityClass
+    ) {
+        return auditorAware
+            .getCurrentAuditor()
+            .map(auditor -> update.set("lastModifiedBy", auditor))
+            .defaultIfEmpty(update)
+            .flatMap(auditedUpdate ->
+                findAndModify(template, id, version, auditedUpdate.set("lastModifiedDate", Instant.now()), entityClass)
+            );
+    }
+
+    private static <T> Mono<T> findAndModify(ReactiveMongoTemplate template, String id, Long version, Update update, Class<T> entityClass) {
+        Criteria criteria = where("id").is(id);
+        if (version != null) {
+            criteria = criteria.and(VERSION_PROPERTY).is(version);
+        }
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+        return template
+            .findAndModify(new Query(criteria), update.inc(VERSION_PROPERTY, 1), options, entityClass)
+            .switchIfEmpty(
+                Mono.defer(() -> {
+                    if (version == null) {
+                        return Mono.empty();
+                    }
+                    return template
+                        .exists(new Query(where("id").is(id)), entityClass)
+                        .filter(exists -> exists)
+                        .flatMap(exists ->
+                            Mono.<T>error(
+                                new OptimisticLockingFailureException(
+                                    "The " + entityClass.getSimpleName() + " " + id + " was modified since version " + version
+                                )
+                            )
+                        );
+                })
+            );
+    }
+}
@@ -0,0 +1,21 @@
+package com.qacm.test.security;
+
+import com.qacm.test.config.Constants;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveAuditorAware} based on Spring Security.
+ * <p>
+ * The login is read from the security context of the Reactor context, loaded once per request by Spring Security, so that
+ * auditing an entity does not query the database.
+ */
+@Component
+public class SpringSecurityAuditorAware implements ReactiveAuditorAware<String> {
+
+    @Override
+    public Mono<String> getCurrentAuditor() {
+        return SecurityUtils.getCurrentUserLogin().switchIfEmpty(Mono.just(Constants.SYSTEM));
+    }
+}
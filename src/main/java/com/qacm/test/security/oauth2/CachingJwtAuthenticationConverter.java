@@ -0,0 +1,65 @@
+package com.qacm.test.security.oauth2;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+/**
+ * Converter of tokens into authentications, keeping the authorities of the tokens until they expire, so that the authorities
+ * of a token sent with many requests are only extracted once.
+ * <p>
+ * Each request gets its own authentication, as authentications are mutable.
+ */
+public class CachingJwtAuthenticationConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+
+    private final Cache<String, CachedAuthorities> cache;
+
+    public CachingJwtAuthenticationConverter(
+        Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+        long maximumSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.authoritiesConverter = authoritiesConverter;
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(TokenCaches.<CachedAuthorities>expiringAt(cachedAuthorities -> cachedAuthorities.expiresAt))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-authentication");
+    }
+
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
+        CachedAuthorities cachedAuthorities = cache.get(
+            TokenCaches.hash(jwt.getTokenValue()),
+            key -> new CachedAuthorities(authoritiesConverter.convert(jwt), jwt.getExpiresAt())
+        );
+        return Mono.just(new JwtAuthenticationToken(jwt, cachedAuthorities.authorities));
+    }
+
+    private static final class CachedAuthorities {
+
+        private final Collection<GrantedAuthority> authorities;
+
+        private final Instant expiresAt;
+
+        private CachedAuthorities(Collection<GrantedAuthority> authorities, Instant expiresAt) {
+            this.authorities = authorities == null ? List.of() : List.copyOf(authorities);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
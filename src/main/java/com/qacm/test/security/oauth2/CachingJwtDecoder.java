@@ -0,0 +1,41 @@
+package com.qacm.test.security.oauth2;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveJwtDecoder} keeping the decoded and validated tokens until they expire, so that a token sent with many
+ * requests is only parsed, verified and validated once.
+ * <p>
+ * Concurrent requests with the same new token share a single decoding. Tokens that fail to decode are not cached.
+ */
+public class CachingJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder delegate;
+
+    private final AsyncCache<String, Jwt> cache;
+
+    public CachingJwtDecoder(ReactiveJwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(TokenCaches.<Jwt>expiringAt(Jwt::getExpiresAt))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "jwt");
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        // a copy of the shared future, so that a cancelled request does not cancel the decoding awaited by the others
+        return Mono.fromFuture(() -> cache.get(TokenCaches.hash(token), (key, executor) -> delegate.decode(token).toFuture()).copy());
+    }
+}
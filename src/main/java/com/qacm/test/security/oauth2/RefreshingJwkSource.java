@@ -0,0 +1,99 @@
+package com.qacm.test.security.oauth2;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Source of the signing keys of the IdP, fetched in the background.
+ * <p>
+ * The key set is fetched when the application is ready, then every refresh interval, so that tokens are verified with the
+ * keys in memory. A token signed with an unknown key, after a key rotation, triggers an early refresh that the requests
+ * with new keys share, at most once every {@value #MIN_ON_DEMAND_REFRESH_SECONDS} seconds so that forged key ids do not
+ * flood the IdP.
+ */
+public class RefreshingJwkSource implements Function<SignedJWT, Flux<JWK>> {
+
+    private static final long MIN_ON_DEMAND_REFRESH_SECONDS = 30;
+
+    private final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+
+    private final Duration refreshInterval;
+
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet());
+
+    private final Mono<JWKSet> refresh;
+
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    private Disposable scheduledRefresh;
+
+    /**
+     * @param webClient the client of the IdP.
+     * @param jwkSetUri the URI of the key set, resolved on each fetch.
+     * @param refreshInterval the interval between the background fetches.
+     */
+    public RefreshingJwkSource(WebClient webClient, Mono<String> jwkSetUri, Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+        this.refresh =
+            jwkSetUri
+                .flatMap(uri -> webClient.get().uri(uri).retrieve().bodyToMono(String.class))
+                .flatMap(body -> Mono.fromCallable(() -> JWKSet.parse(body)))
+                .doOnNext(keys -> {
+                    jwkSet.set(keys);
+                    log.debug("Fetched {} signing keys", keys.getKeys().size());
+                })
+                .doFinally(signalType -> lastRefresh = Instant.now())
+                // concurrent refreshes share a single fetch
+                .cache(keys -> Duration.ZERO, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * Fetch the key set, then refresh it in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduledRefresh =
+            Flux
+                .interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick ->
+                    refresh.onErrorResume(e -> {
+                        log.warn("Could not fetch the signing keys: {}", e.getMessage());
+                        return Mono.empty();
+                    })
+                )
+                .subscribe();
+    }
+
+    public void close() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.dispose();
+        }
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        List<JWK> keys = selector.select(jwkSet.get());
+        if (!keys.isEmpty() || Instant.now().isBefore(lastRefresh.plusSeconds(MIN_ON_DEMAND_REFRESH_SECONDS))) {
+            return Flux.fromIterable(keys);
+        }
+        return refresh.flatMapIterable(selector::select);
+    }
+}
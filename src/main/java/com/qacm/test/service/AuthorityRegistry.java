@@ -0,0 +1,105 @@
+package com.qacm.test.service;
+
+import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.domain.Authority;
+import com.qacm.test.repository.AuthorityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service keeping the names of the stored authorities in memory.
+ * <p>
+ * The registry is loaded when the application starts, then reloaded every {@code application.authorities.refresh-interval}
+ * to pick up the authorities added by the other instances. Authorities registered on this instance are known right away,
+ * so that once the registry is loaded, the authorities of a login only cost a query when some of them are new.
+ */
+@Service
+public class AuthorityRegistry {
+
+    private final Logger log = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private final Duration refreshInterval;
+
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+    private Disposable refresh;
+
+    public AuthorityRegistry(AuthorityRepository authorityRepository, ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this.authorityRepository = authorityRepository;
+        this.refreshInterval = properties.getAuthorities().getRefreshInterval();
+        meterRegistry.gaugeCollectionSize("authority.registry.size", Collections.emptyList(), names);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh =
+            Flux
+                .interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick ->
+                    load()
+                        .onErrorResume(e -> {
+                            log.warn("Could not reload the authorities: {}", e.getMessage());
+                            return Mono.empty();
+                        })
+                )
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refresh != null) {
+            refresh.dispose();
+        }
+    }
+
+    /**
+     * Reload the registry from the database.
+     *
+     * @return a Mono to signal the reload.
+     */
+    public Mono<Void> load() {
+        return authorityRepository
+            .findAll()
+            .map(Authority::getName)
+            .collect(Collectors.toSet())
+            .doOnNext(loadedNames -> {
+                names.addAll(loadedNames);
+                names.retainAll(loadedNames);
+                log.debug("Loaded {} authorities", loadedNames.size());
+            })
+            .then();
+    }
+
+    /**
+     * Store the authorities that are not in the registry yet, with a single idempotent upsert.
+     *
+     * @param authorities the names of the authorities.
+     * @return a Mono to signal the registration, completing without querying the database when all the authorities are known.
+     */
+    public Mono<Void> register(Collection<String> authorities) {
+        List<String> missingNames = authorities.stream().filter(name -> !names.contains(name)).collect(Collectors.toList());
+        if (missingNames.isEmpty()) {
+            return Mono.empty();
+        }
+        log.debug("Saving authorities {} in local database", missingNames);
+        return authorityRepository.upsertAll(missingNames).doOnSuccess(upserted -> names.addAll(missingNames));
+    }
+}
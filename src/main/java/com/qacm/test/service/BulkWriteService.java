@@ -0,0 +1,495 @@
+package com.qacm.test.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.config.Constants;
+import com.qacm.test.domain.AbstractAuditingEntity;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Service writing streams of create, update and delete operations with MongoDB {@code bulkWrite} commands.
+ * <p>
+ * Operations are validated one by one, then written in unordered chunks of {@code application.bulk.chunk-size} operations:
+ * an operation that fails does not prevent the others from being written, and gets its own failed result.
+ * Results are emitted in the order of the operations, chunk after chunk.
+ * An update or a delete whose entity is modified or deleted between the time it is read and written gets a conflict or not found
+ * result, told from the counts of the bulk write result.
+ * An update or a delete of an entity already updated or deleted by a previous operation of the same chunk gets a conflict result:
+ * the unordered writes of a chunk could otherwise be applied in any order.
+ * The entity callbacks are not called for bulk writes, so the audit fields of the created and updated entities are set here,
+ * an update keeping the creation fields of the stored entity.
+ */
+@Service
+public class BulkWriteService {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private static final String CREATED_BY_PROPERTY = "createdBy";
+
+    private static final String CREATED_DATE_PROPERTY = "createdDate";
+
+    private final Logger log = LoggerFactory.getLogger(BulkWriteService.class);
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final Validator validator;
+
+    private final ReactiveAuditorAware<String> auditorAware;
+
+    private final EntityCountService entityCountService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int chunkSize;
+
+    public BulkWriteService(
+        ReactiveMongoOperations mongoOperations,
+        Validator validator,
+        ReactiveAuditorAware<String> auditorAware,
+        EntityCountService entityCountService,
+        MeterRegistry meterRegistry,
+        ApplicationProperties properties
+    ) {
+        this.mongoOperations = mongoOperations;
+        this.validator = validator;
+        this.auditorAware = auditorAware;
+        this.entityCountService = entityCountService;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = properties.getBulk().getChunkSize();
+    }
+
+    /**
+     * Write a stream of operations.
+     *
+     * @param entityClass the entity class of the collection.
+     * @param operations the operations.
+     * @param preparer called with the created and updated entities of each chunk before they are written, to resolve their relationships.
+     * @param <T> the type of the entity.
+     * @return the result of each operation.
+     */
+    public <T> Flux<BulkResultDTO> write(
+        Class<T> entityClass,
+        Flux<BulkOperationDTO<T>> operations,
+        Function<List<T>, Mono<Void>> preparer
+    ) {
+        MongoPersistentEntity<?> persistentEntity = mongoOperations
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(entityClass);
+        // the auditor is resolved once for all the chunks
+        return auditorAware
+            .getCurrentAuditor()
+            .defaultIfEmpty(Constants.SYSTEM)
+            .flatMapMany(auditor ->
+                operations.index().buffer(chunkSize).concatMap(chunk -> writeChunk(entityClass, persistentEntity, chunk, preparer, auditor))
+            );
+    }
+
+    private <T> Flux<BulkResultDTO> writeChunk(
+        Class<T> entityClass,
+        MongoPersistentEntity<?> persistentEntity,
+        List<Tuple2<Long, BulkOperationDTO<T>>> chunk,
+        Function<List<T>, Mono<Void>> preparer,
+        String auditor
+    ) {
+        log.debug("Request to bulk write {} {} operations", chunk.size(), entityClass.getSimpleName());
+        long start = System.nanoTime();
+        Map<Long, BulkResultDTO> results = new TreeMap<>();
+        List<Item<T>> items = new ArrayList<>();
+        Map<String, Long> writtenIds = new HashMap<>();
+        for (Tuple2<Long, BulkOperationDTO<T>> indexedOperation : chunk) {
+            BulkOperationDTO<T> operation = indexedOperation.getT2();
+            Item<T> item = new Item<>(indexedOperation.getT1(), operation, getId(persistentEntity, operation));
+            String error = validate(item);
+            if (error != null) {
+                results.put(item.index, item.result(HttpStatus.BAD_REQUEST, error));
+                continue;
+            }
+            Long previousIndex = item.id == null ? null : writtenIds.putIfAbsent(item.id, item.index);
+            if (previousIndex != null) {
+                results.put(item.index, item.result(HttpStatus.CONFLICT, "Entity is already written by operation " + previousIndex));
+            } else {
+                items.add(item);
+            }
+        }
+        String collectionName = persistentEntity.getCollection();
+        return findExisting(persistentEntity, items)
+            .flatMap(existingDocuments -> {
+                List<Item<T>> writableItems = new ArrayList<>();
+                Instant now = Instant.now();
+                for (Item<T> item : items) {
+                    if (item.op == BulkOperationDTO.Op.CREATE) {
+                        setVersion(persistentEntity, item, 0L);
+                        audit(persistentEntity, item, null, auditor, now);
+                        writableItems.add(item);
+                        continue;
+                    }
+                    Document existingDocument = existingDocuments.get(item.id);
+                    if (existingDocument == null) {
+                        results.put(item.index, item.result(HttpStatus.NOT_FOUND, "Entity not found"));
+                        continue;
+                    }
+                    if (item.op == BulkOperationDTO.Op.UPDATE && persistentEntity.hasVersionProperty()) {
+                        item.storedVersion = getVersion(existingDocument, persistentEntity);
+                        Long version = getVersion(persistentEntity, item.entity);
+                        if (version != null && !version.equals(item.storedVersion)) {
+                            results.put(item.index, item.result(HttpStatus.CONFLICT, "Entity was modified since version " + version));
+                            continue;
+                        }
+                        setVersion(persistentEntity, item, item.storedVersion == null ? 1L : item.storedVersion + 1);
+                    }
+                    if (item.op == BulkOperationDTO.Op.UPDATE) {
+                        audit(persistentEntity, item, existingDocument, auditor, now);
+                    }
+                    writableItems.add(item);
+                }
+                List<T> entities = writableItems
+                    .stream()
+                    .filter(item -> item.op != BulkOperationDTO.Op.DELETE)
+                    .map(item -> item.entity)
+                    .collect(Collectors.toList());
+                return preparer.apply(entities).then(Mono.defer(() -> bulkWrite(collectionName, persistentEntity, writableItems, results)));
+            })
+            .thenMany(Flux.defer(() -> Flux.fromIterable(results.values())))
+            .doOnNext(result -> countResult(entityClass, result))
+            .doOnComplete(() -> {
+                timer(entityClass).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                boolean countChanged = results
+                    .values()
+                    .stream()
+                    .anyMatch(result ->
+                        result.getStatus() == HttpStatus.CREATED.value() || result.getStatus() == HttpStatus.NO_CONTENT.value()
+                    );
+                if (countChanged) {
+                    entityCountService.invalidate(entityClass);
+                }
+            });
+    }
+
+    private <T> String validate(Item<T> item) {
+        if (item.op == null) {
+            return "Missing operation";
+        }
+        if (item.op == BulkOperationDTO.Op.DELETE) {
+            return item.id == null ? "Missing id" : null;
+        }
+        if (item.entity == null) {
+            return "Missing entity";
+        }
+        if (item.op == BulkOperationDTO.Op.CREATE && item.id != null) {
+            return "A new entity cannot already have an ID";
+        }
+        if (item.op == BulkOperationDTO.Op.UPDATE && item.id == null) {
+            return "Invalid id";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item.entity);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Find the stored documents of the entities to update or delete, projected on their id, version and creation audit fields.
+     */
+    private <T> Mono<Map<String, Document>> findExisting(MongoPersistentEntity<?> persistentEntity, List<Item<T>> items) {
+        List<Object> ids = items
+            .stream()
+            .filter(item -> item.op != BulkOperationDTO.Op.CREATE)
+            .map(item -> toMongoId(item.id))
+            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<String> fields = new ArrayList<>(List.of("_id"));
+        if (persistentEntity.hasVersionProperty()) {
+            fields.add(persistentEntity.getRequiredVersionProperty().getFieldName());
+        }
+        if (isAudited(persistentEntity)) {
+            fields.add(fieldName(persistentEntity, CREATED_BY_PROPERTY));
+            fields.add(fieldName(persistentEntity, CREATED_DATE_PROPERTY));
+        }
+        return mongoOperations
+            .getCollection(persistentEntity.getCollection())
+            .flatMapMany(collection -> collection.find(Filters.in("_id", ids)).projection(Projections.include(fields)))
+            .collectMap(document -> document.get("_id").toString());
+    }
+
+    private <T> Mono<Void> bulkWrite(
+        String collectionName,
+        MongoPersistentEntity<?> persistentEntity,
+        List<Item<T>> items,
+        Map<Long, BulkResultDTO> results
+    ) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+        List<WriteModel<Document>> models = new ArrayList<>();
+        for (Item<T> item : items) {
+            models.add(toWriteModel(persistentEntity, item));
+        }
+        return mongoOperations
+            .getCollection(collectionName)
+            .flatMap(collection -> Mono.from(collection.bulkWrite(models, new BulkWriteOptions().ordered(false))))
+            .flatMap(bulkWriteResult -> checkWritten(persistentEntity, items, bulkWriteResult, results))
+            .onErrorResume(
+                MongoBulkWriteException.class,
+                e -> {
+                    Map<Integer, BulkWriteError> errors = e
+                        .getWriteErrors()
+                        .stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+                    List<Item<T>> writtenItems = new ArrayList<>();
+                    for (int i = 0; i < items.size(); i++) {
+                        Item<T> item = items.get(i);
+                        BulkWriteError error = errors.get(i);
+                        if (error == null) {
+                            writtenItems.add(item);
+                        } else if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                            results.put(item.index, item.result(HttpStatus.CONFLICT, error.getMessage()));
+                        } else {
+                            results.put(item.index, item.result(HttpStatus.INTERNAL_SERVER_ERROR, error.getMessage()));
+                        }
+                    }
+                    return checkWritten(persistentEntity, writtenItems, e.getWriteResult(), results);
+                }
+            )
+            .onErrorResume(e -> {
+                log.warn("Bulk write of {} operations failed: {}", items.size(), e.getMessage());
+                items.forEach(item -> results.put(item.index, item.result(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage())));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * Report the operations written without error as successful, unless the bulk write matched fewer documents to replace or
+     * deleted fewer documents than expected: the entities were then modified or deleted between the time they were read and
+     * written, and are read again to tell which operations wrote nothing.
+     */
+    private <T> Mono<Void> checkWritten(
+        MongoPersistentEntity<?> persistentEntity,
+        List<Item<T>> items,
+        BulkWriteResult bulkWriteResult,
+        Map<Long, BulkResultDTO> results
+    ) {
+        List<Item<T>> updates = items.stream().filter(item -> item.op == BulkOperationDTO.Op.UPDATE).collect(Collectors.toList());
+        List<Item<T>> deletes = items.stream().filter(item -> item.op == BulkOperationDTO.Op.DELETE).collect(Collectors.toList());
+        boolean updatesMissed = bulkWriteResult.getMatchedCount() < updates.size();
+        boolean deletesMissed = bulkWriteResult.getDeletedCount() < deletes.size();
+        items.forEach(item -> results.put(item.index, item.success()));
+        if (deletesMissed) {
+            // the deleted documents are gone either way: the deletes that found nothing can only be told when none of them did
+            if (bulkWriteResult.getDeletedCount() == 0) {
+                deletes.forEach(item -> results.put(item.index, item.result(HttpStatus.NOT_FOUND, "Entity not found")));
+            } else {
+                log.debug("{} of {} deletes found no entity", deletes.size() - bulkWriteResult.getDeletedCount(), deletes.size());
+            }
+        }
+        if (!updatesMissed) {
+            return Mono.empty();
+        }
+        return findExisting(persistentEntity, updates)
+            .doOnNext(existingDocuments -> {
+                for (Item<T> item : updates) {
+                    Document existingDocument = existingDocuments.get(item.id);
+                    if (existingDocument == null) {
+                        results.put(item.index, item.result(HttpStatus.NOT_FOUND, "Entity not found"));
+                    } else if (
+                        persistentEntity.hasVersionProperty() &&
+                        !Objects.equals(getVersion(existingDocument, persistentEntity), getVersion(persistentEntity, item.entity))
+                    ) {
+                        results.put(item.index, item.result(HttpStatus.CONFLICT, "Entity was modified concurrently"));
+                    }
+                }
+            })
+            .then();
+    }
+
+    private <T> WriteModel<Document> toWriteModel(MongoPersistentEntity<?> persistentEntity, Item<T> item) {
+        if (item.op == BulkOperationDTO.Op.DELETE) {
+            return new DeleteOneModel<>(Filters.eq("_id", toMongoId(item.id)));
+        }
+        if (item.op == BulkOperationDTO.Op.CREATE) {
+            item.id = new ObjectId().toHexString();
+            persistentEntity.getPropertyAccessor(item.entity).setProperty(persistentEntity.getRequiredIdProperty(), item.id);
+        }
+        Document document = new Document();
+        mongoOperations.getConverter().write(item.entity, document);
+        if (item.op == BulkOperationDTO.Op.CREATE) {
+            return new InsertOneModel<>(document);
+        }
+        Bson filter = Filters.eq("_id", document.get("_id"));
+        if (item.storedVersion != null) {
+            // do not overwrite an entity modified since its version was read
+            String versionField = persistentEntity.getRequiredVersionProperty().getFieldName();
+            filter = Filters.and(filter, Filters.eq(versionField, item.storedVersion));
+        }
+        return new ReplaceOneModel<>(filter, document);
+    }
+
+    /**
+     * Set the audit fields of a created entity, or of an updated entity with the creation fields of its stored document.
+     */
+    private static <T> void audit(
+        MongoPersistentEntity<?> persistentEntity,
+        Item<T> item,
+        Document existingDocument,
+        String auditor,
+        Instant now
+    ) {
+        if (!isAudited(persistentEntity)) {
+            return;
+        }
+        AbstractAuditingEntity entity = (AbstractAuditingEntity) item.entity;
+        if (existingDocument == null) {
+            entity.setCreatedBy(auditor);
+            entity.setCreatedDate(now);
+        } else {
+            entity.setCreatedBy(existingDocument.getString(fieldName(persistentEntity, CREATED_BY_PROPERTY)));
+            Date createdDate = existingDocument.getDate(fieldName(persistentEntity, CREATED_DATE_PROPERTY));
+            entity.setCreatedDate(createdDate != null ? createdDate.toInstant() : null);
+        }
+        entity.setLastModifiedBy(auditor);
+        entity.setLastModifiedDate(now);
+    }
+
+    private static boolean isAudited(MongoPersistentEntity<?> persistentEntity) {
+        return AbstractAuditingEntity.class.isAssignableFrom(persistentEntity.getType());
+    }
+
+    private static String fieldName(MongoPersistentEntity<?> persistentEntity, String property) {
+        return persistentEntity.getRequiredPersistentProperty(property).getFieldName();
+    }
+
+    private static Long getVersion(Document document, MongoPersistentEntity<?> persistentEntity) {
+        Number version = document.get(persistentEntity.getRequiredVersionProperty().getFieldName(), Number.class);
+        return version != null ? version.longValue() : null;
+    }
+
+    private static Long getVersion(MongoPersistentEntity<?> persistentEntity, Object entity) {
+        Number version = (Number) persistentEntity.getPropertyAccessor(entity).getProperty(persistentEntity.getRequiredVersionProperty());
+        return version != null ? version.longValue() : null;
+    }
+
+    private static <T> void setVersion(MongoPersistentEntity<?> persistentEntity, Item<T> item, long version) {
+        if (persistentEntity.hasVersionProperty()) {
+            persistentEntity.getPropertyAccessor(item.entity).setProperty(persistentEntity.getRequiredVersionProperty(), version);
+        }
+    }
+
+    private static String getId(MongoPersistentEntity<?> persistentEntity, BulkOperationDTO<?> operation) {
+        if (operation.getOp() == BulkOperationDTO.Op.DELETE || operation.getEntity() == null) {
+            return operation.getId();
+        }
+        Object id = persistentEntity.getIdentifierAccessor(operation.getEntity()).getIdentifier();
+        return id != null ? id.toString() : null;
+    }
+
+    /**
+     * Convert an id the way Spring Data MongoDB stores {@code String} ids: as an {@link ObjectId} when it is a valid one.
+     */
+    private static Object toMongoId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private void countResult(Class<?> entityClass, BulkResultDTO result) {
+        meterRegistry
+            .counter(
+                "bulk.operations",
+                "entity",
+                entityClass.getSimpleName(),
+                "op",
+                result.getOp() != null ? result.getOp().name().toLowerCase() : "unknown",
+                "status",
+                Integer.toString(result.getStatus())
+            )
+            .increment();
+    }
+
+    private Timer timer(Class<?> entityClass) {
+        return Timer
+            .builder("bulk.write")
+            .description("Latency of the bulk write chunks")
+            .tag("entity", entityClass.getSimpleName())
+            .register(meterRegistry);
+    }
+
+    private static final class Item<T> {
+
+        private final long index;
+
+        private final BulkOperationDTO.Op op;
+
+        private final T entity;
+
+        private String id;
+
+        private Long storedVersion;
+
+        private Item(long index, BulkOperationDTO<T> operation, String id) {
+            this.index = index;
+            this.op = operation.getOp();
+            this.entity = operation.getEntity();
+            this.id = id;
+        }
+
+        private BulkResultDTO success() {
+            switch (op) {
+                case CREATE:
+                    return result(HttpStatus.CREATED, null);
+                case UPDATE:
+                    return result(HttpStatus.OK, null);
+                default:
+                    return result(HttpStatus.NO_CONTENT, null);
+            }
+        }
+
+        private BulkResultDTO result(HttpStatus status, String error) {
+            return new BulkResultDTO(index, op, id, status.value(), error);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.qacm.test.service;
+
+import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.service.dto.CacheInvalidationDTO;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Service propagating the invalidations of the in-process caches to the other instances of the application.
+ * <p>
+ * Invalidations are coalesced over {@code application.cache-invalidation.batch-window}, and each batch is sent once to each
+ * peer by the configured {@link CacheInvalidationTransport}. Received invalidations only evict the local caches and are never
+ * forwarded, so a burst of writes on one instance costs one message per peer and window, whatever the number of instances.
+ */
+@Service
+public class CacheInvalidationService {
+
+    public static final String TOKEN_HEADER = "X-Cache-Invalidation-Token";
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final Map<String, Consumer<String>> caches = new ConcurrentHashMap<>();
+
+    private final Map<String, Runnable> flushers = new ConcurrentHashMap<>();
+
+    private final Sinks.Many<CacheInvalidationDTO> outgoingInvalidations = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final Optional<CacheInvalidationTransport> transport;
+
+    private final String token;
+
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public CacheInvalidationService(Optional<CacheInvalidationTransport> transport, ApplicationProperties properties) {
+        this.transport = transport;
+        ApplicationProperties.CacheInvalidation cacheInvalidation = properties.getCacheInvalidation();
+        this.token = cacheInvalidation.getToken();
+        transport.ifPresent(presentTransport -> {
+            subscriptions.add(
+                outgoingInvalidations
+                    .asFlux()
+                    .bufferTimeout(cacheInvalidation.getMaxBatchSize(), cacheInvalidation.getBatchWindow())
+                    // batches keep coming while a slow peer is being sent the previous one
+                    .onBackpressureBuffer()
+                    .map(batch -> new ArrayList<>(new LinkedHashSet<>(batch)))
+                    .concatMap(batch ->
+                        presentTransport
+                            .publish(batch)
+                            .onErrorResume(e -> {
+                                log.warn("Could not publish {} cache invalidations: {}", batch.size(), e.getMessage());
+                                return Mono.empty();
+                            })
+                    )
+                    .subscribe()
+            );
+            subscriptions.add(presentTransport.receive().subscribe(invalidation -> evict(List.of(invalidation))));
+        });
+    }
+
+    /**
+     * Check whether the invalidations reach the other instances, so that their caches can be trusted to be fresh.
+     *
+     * @return true if a transport is configured.
+     */
+    public boolean isDistributed() {
+        return transport.isPresent();
+    }
+
+    /**
+     * Register a local cache.
+     *
+     * @param cache the name of the cache.
+     * @param evictor the eviction of an entity from the cache, by id.
+     * @param flusher the eviction of all the entities of the cache.
+     */
+    public void register(String cache, Consumer<String> evictor, Runnable flusher) {
+        caches.put(cache, evictor);
+        flushers.put(cache, flusher);
+    }
+
+    /**
+     * Invalidate an entity in the caches of the other instances, after it was written to.
+     *
+     * @param cache the name of the cache.
+     * @param id the id of the entity.
+     */
+    public void publish(String cache, String id) {
+        if (transport.isPresent()) {
+            // concurrent writers retry until the sink accepts their invalidation
+            outgoingInvalidations.emitNext(
+                new CacheInvalidationDTO(cache, id),
+                (signalType, emitResult) -> emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED
+            );
+        }
+    }
+
+    /**
+     * Evict entities from the local caches, after other instances wrote to them.
+     * <p>
+     * An invalidation without id flushes its whole cache, and an invalidation without cache and id flushes all the caches,
+     * after invalidations may have been missed.
+     *
+     * @param invalidations the invalidations.
+     */
+    public void evict(List<CacheInvalidationDTO> invalidations) {
+        log.debug("Received {} cache invalidations", invalidations.size());
+        for (CacheInvalidationDTO invalidation : invalidations) {
+            if (invalidation.getCache() == null && invalidation.getId() == null) {
+                flushers.values().forEach(Runnable::run);
+                continue;
+            }
+            if (invalidation.getId() == null) {
+                flushers.getOrDefault(invalidation.getCache(), () -> {}).run();
+                continue;
+            }
+            Consumer<String> evictor = caches.get(invalidation.getCache());
+            if (evictor != null) {
+                evictor.accept(invalidation.getId());
+            }
+        }
+    }
+
+    /**
+     * Check the token of invalidations sent by another instance.
+     *
+     * @param token the token of the request.
+     * @return true if the token is the configured one.
+     */
+    public boolean isTrusted(String token) {
+        if (this.token == null || this.token.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(this.token.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        subscriptions.dispose();
+    }
+}
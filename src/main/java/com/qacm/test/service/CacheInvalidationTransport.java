@@ -0,0 +1,28 @@
+package com.qacm.test.service;
+
+import com.qacm.test.service.dto.CacheInvalidationDTO;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Channel carrying the cache invalidations between the instances of the application.
+ * <p>
+ * The transport is selected by the {@code application.cache-invalidation.transport} property.
+ */
+public interface CacheInvalidationTransport {
+    /**
+     * Send a batch of invalidations of this instance to the other instances.
+     *
+     * @param invalidations the invalidations, without duplicates.
+     * @return a Mono to signal the end of the sending.
+     */
+    Mono<Void> publish(List<CacheInvalidationDTO> invalidations);
+
+    /**
+     * Get the invalidations that the transport receives itself, rather than through the cache invalidation endpoint.
+     *
+     * @return the invalidations, never completing while the application runs.
+     */
+    Flux<CacheInvalidationDTO> receive();
+}
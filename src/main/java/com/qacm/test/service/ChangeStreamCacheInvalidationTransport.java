@@ -0,0 +1,140 @@
+package com.qacm.test.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.mongodb.MongoException;
+import com.qacm.test.service.dto.CacheInvalidationDTO;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * {@link CacheInvalidationTransport} writing the invalidations to a collection, which every instance watches with a change stream.
+ * <p>
+ * Each batch of invalidations is inserted as one document, tagged with the instance that wrote it so that it ignores its own.
+ * The change stream only watches the inserts of that collection, and is resumed after the last received change when it is
+ * reopened after a failure. When it cannot be resumed, because no change was received before the failure or the changes missed
+ * meanwhile are no longer available, all the local caches are flushed.
+ * The documents expire after {@link #RETENTION}, which bounds how long an instance can be disconnected and still resume.
+ */
+@Component
+@ConditionalOnProperty(name = "application.cache-invalidation.transport", havingValue = "change-stream")
+public class ChangeStreamCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final String COLLECTION_NAME = "jhi_cache_invalidation";
+
+    private static final String ORIGIN_FIELD = "fullDocument.origin";
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    /**
+     * The error codes of a change stream that cannot be resumed, because the changes after its resume token are gone.
+     */
+    private static final Set<Integer> HISTORY_LOST_CODES = Set.of(280, 286);
+
+    private final Logger log = LoggerFactory.getLogger(ChangeStreamCacheInvalidationTransport.class);
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    /**
+     * The id of this instance, telling its own invalidations from the ones of the other instances.
+     */
+    private final String origin = UUID.randomUUID().toString();
+
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+
+    private final AtomicBoolean watched = new AtomicBoolean();
+
+    public ChangeStreamCacheInvalidationTransport(ReactiveMongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public Mono<Void> publish(List<CacheInvalidationDTO> invalidations) {
+        Document document = new Document()
+            .append("origin", origin)
+            .append("createdAt", new Date())
+            .append(
+                "invalidations",
+                invalidations
+                    .stream()
+                    .map(invalidation -> new Document("cache", invalidation.getCache()).append("id", invalidation.getId()))
+                    .collect(Collectors.toList())
+            );
+        return mongoOperations.insert(document, COLLECTION_NAME).then();
+    }
+
+    @Override
+    public Flux<CacheInvalidationDTO> receive() {
+        return mongoOperations
+            .indexOps(COLLECTION_NAME)
+            .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(RETENTION))
+            .onErrorResume(e -> {
+                log.warn("Could not create the expiration index of the cache invalidations: {}", e.getMessage());
+                return Mono.empty();
+            })
+            .thenMany(Flux.defer(this::watch))
+            .doOnError(e -> {
+                log.warn("The change stream of the cache invalidations failed: {}", e.getMessage());
+                Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+                if (cause instanceof MongoException && HISTORY_LOST_CODES.contains(((MongoException) cause).getCode())) {
+                    resumeToken.set(null);
+                }
+            })
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1)));
+    }
+
+    private Flux<CacheInvalidationDTO> watch() {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions
+            .builder()
+            .filter(Aggregation.newAggregation(Aggregation.match(where("operationType").is("insert").and(ORIGIN_FIELD).ne(origin))));
+        BsonValue token = resumeToken.get();
+        if (token != null) {
+            options.resumeAfter(token);
+        }
+        Flux<CacheInvalidationDTO> changes = mongoOperations
+            .changeStream(COLLECTION_NAME, options.build(), Document.class)
+            .doOnNext(event -> resumeToken.set(event.getResumeToken()))
+            .concatMapIterable(ChangeStreamCacheInvalidationTransport::toInvalidations);
+        if (token == null && watched.getAndSet(true)) {
+            log.warn("Cache invalidations may have been missed while the change stream was closed, flushing the caches");
+            // an invalidation without cache and id flushes all the caches
+            return Flux.concat(Mono.just(new CacheInvalidationDTO()), changes);
+        }
+        return changes;
+    }
+
+    private static List<CacheInvalidationDTO> toInvalidations(ChangeStreamEvent<Document> event) {
+        Document document = event.getBody();
+        if (document == null) {
+            return List.of();
+        }
+        return document
+            .getList("invalidations", Document.class, List.of())
+            .stream()
+            .map(invalidation -> new CacheInvalidationDTO(invalidation.getString("cache"), invalidation.getString("id")))
+            .filter(invalidation -> invalidation.getCache() != null && invalidation.getId() != null)
+            .collect(Collectors.toList());
+    }
+}
@@ -1,6 +1,10 @@
 package com.qacm.test.service;
 
 import com.qacm.test.domain.Comment;
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
+import com.qacm.test.service.dto.LiveEventDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,7 +25,7 @@ public interface CommentService {
      * Updates a comment.
      *
      * @param comment the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if there is no entity with this id.
      */
     Mono<Comment> update(Comment comment);
 
@@ -29,7 +33,7 @@ public interface CommentService {
      * Partially updates a comment.
      *
      * @param comment the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if there is no entity with this id.
      */
     Mono<Comment> partialUpdate(Comment comment);
 
@@ -41,6 +45,34 @@ public interface CommentService {
      */
     Flux<Comment> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset (cursor) page of comments.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities to return.
+     * @return the list of entities, in query order.
+     */
+    Flux<Comment> findAll(Keyset keyset, int limit);
+
+    /**
+     * Get a keyset (cursor) page of comments with eager load of many-to-many relationships.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities to return.
+     * @return the list of entities, in query order.
+     */
+    Flux<Comment> findAllWithEagerRelationships(Keyset keyset, int limit);
+
+    /**
+     * Get a keyset (cursor) page of the comments of a post.
+     *
+     * @param postId the id of the post.
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities to return, or {@code 0} for no limit.
+     * @return the list of entities, in query order.
+     */
+    Flux<Comment> findAllByPost(String postId, Keyset keyset, int limit);
+
     /**
      * Get all the comments with eager load of many-to-many relationships.
      *
@@ -71,4 +103,21 @@ public interface CommentService {
      * @return a Mono to signal the deletion
      */
     Mono<Void> delete(String id);
+
+    /**
+     * Create, update and delete comments in bulk.
+     *
+     * @param operations the operations.
+     * @return the result of each operation, in the order of the operations.
+     */
+    Flux<BulkResultDTO> bulk(Flux<BulkOperationDTO<Comment>> operations);
+
+    /**
+     * Get the comments of a post as they are created.
+     *
+     * @param postId the id of the post.
+     * @param lastEventId the id of the last comment received by a reconnecting client, or null to only get the next comments.
+     * @return the created comments.
+     */
+    Flux<LiveEventDTO<Comment>> findLiveByPost(String postId, String lastEventId);
 }
@@ -0,0 +1,93 @@
+package com.qacm.test.service;
+
+import com.qacm.test.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service computing the total number of entities of a collection, according to the configured
+ * {@link ApplicationProperties.Count.Strategy count strategy}.
+ * <p>
+ * With the {@link ApplicationProperties.Count.Strategy#CACHED cached} strategy, concurrent requests share a single count
+ * query, whose result is kept until it expires or {@link #invalidate(Class)} is called after a write.
+ */
+@Service
+public class EntityCountService {
+
+    private static final String METRIC_NAME = "entity.count";
+
+    private final Logger log = LoggerFactory.getLogger(EntityCountService.class);
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.Count.Strategy strategy;
+
+    private final Duration cacheTtl;
+
+    private final Map<Class<?>, Mono<Long>> cachedCounts = new ConcurrentHashMap<>();
+
+    public EntityCountService(ReactiveMongoOperations mongoOperations, MeterRegistry meterRegistry, ApplicationProperties properties) {
+        this.mongoOperations = mongoOperations;
+        this.meterRegistry = meterRegistry;
+        this.strategy = properties.getCount().getStrategy();
+        this.cacheTtl = properties.getCount().getCacheTtl();
+    }
+
+    /**
+     * Count the entities of a collection.
+     *
+     * @param entityClass the entity class of the collection.
+     * @return the number of entities.
+     */
+    public Mono<Long> count(Class<?> entityClass) {
+        switch (strategy) {
+            case ESTIMATED:
+                return timed(entityClass, mongoOperations.estimatedCount(entityClass));
+            case CACHED:
+                return cachedCounts.computeIfAbsent(entityClass, this::cachedCount);
+            default:
+                return timed(entityClass, mongoOperations.count(new Query(), entityClass));
+        }
+    }
+
+    /**
+     * Discard the cached count of a collection, after entities were added to or removed from it.
+     *
+     * @param entityClass the entity class of the collection.
+     */
+    public void invalidate(Class<?> entityClass) {
+        if (cachedCounts.remove(entityClass) != null) {
+            log.debug("Invalidated the cached count of {}", entityClass.getSimpleName());
+        }
+    }
+
+    private Mono<Long> cachedCount(Class<?> entityClass) {
+        return timed(entityClass, mongoOperations.count(new Query(), entityClass))
+            .cache(count -> cacheTtl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private Mono<Long> timed(Class<?> entityClass, Mono<Long> count) {
+        Timer timer = Timer
+            .builder(METRIC_NAME)
+            .description("Latency of the total count queries of the paginated list endpoints")
+            .tag("entity", entityClass.getSimpleName())
+            .tag("strategy", strategy.name().toLowerCase())
+            .register(meterRegistry);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return count.doOnSuccess(result -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.qacm.test.service;
+
+import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.service.dto.CacheInvalidationDTO;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link CacheInvalidationTransport} posting the invalidations to the {@code /management/cache-invalidations} endpoint of the
+ * other instances registered in Eureka.
+ */
+@Component
+@ConditionalOnProperty(name = "application.cache-invalidation.transport", havingValue = "http")
+public class HttpCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final String PATH = "/management/cache-invalidations";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final int CONCURRENCY = 16;
+
+    private final Logger log = LoggerFactory.getLogger(HttpCacheInvalidationTransport.class);
+
+    private final DiscoveryClient discoveryClient;
+
+    private final ObjectProvider<Registration> registration;
+
+    private final WebClient webClient;
+
+    private final String serviceId;
+
+    private final String token;
+
+    public HttpCacheInvalidationTransport(
+        DiscoveryClient discoveryClient,
+        ObjectProvider<Registration> registration,
+        WebClient.Builder webClientBuilder,
+        @Value("${spring.application.name}") String serviceId,
+        ApplicationProperties properties
+    ) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.webClient = webClientBuilder.build();
+        this.serviceId = serviceId;
+        this.token = properties.getCacheInvalidation().getToken();
+        if (token == null || token.isEmpty()) {
+            log.warn("No application.cache-invalidation.token is configured: the other instances will reject the cache invalidations");
+        }
+    }
+
+    @Override
+    public Mono<Void> publish(List<CacheInvalidationDTO> invalidations) {
+        Registration self = registration.getIfAvailable();
+        return Flux
+            .fromIterable(discoveryClient.getInstances(serviceId))
+            .filter(instance -> self == null || !self.getInstanceId().equals(instance.getInstanceId()))
+            .flatMap(instance -> send(instance, invalidations), CONCURRENCY)
+            .then();
+    }
+
+    @Override
+    public Flux<CacheInvalidationDTO> receive() {
+        // the other instances post their invalidations to the cache invalidation endpoint
+        return Flux.never();
+    }
+
+    private Mono<Void> send(ServiceInstance instance, List<CacheInvalidationDTO> invalidations) {
+        return webClient
+            .post()
+            .uri(UriComponentsBuilder.fromUri(instance.getUri()).path(PATH).build().toUri())
+            .header(CacheInvalidationService.TOKEN_HEADER, token)
+            .bodyValue(invalidations)
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(TIMEOUT)
+            .onErrorResume(e -> {
+                log.warn("Could not send {} cache invalidations to {}: {}", invalidations.size(), instance.getInstanceId(), e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -0,0 +1,188 @@
+package com.qacm.test.service;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.qacm.test.config.ApplicationProperties;
+import com.qacm.test.service.dto.LiveEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.PreDestroy;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Service streaming the entities inserted into a collection, to any number of clients.
+ * <p>
+ * Each collection is watched by a single change stream, opened when its feed is first subscribed to, and whose entities are
+ * multicast to all the subscribers. The last {@code application.live-feed.replay-size} entities are kept, so that a client
+ * reconnecting with the id of the last entity it received gets the entities it missed instead of the whole collection.
+ * A client that does not keep up with the feed has its feed closed once {@code application.live-feed.subscriber-buffer-size}
+ * entities are waiting for it, and resumes it when it reconnects.
+ */
+@Service
+public class LiveFeedService {
+
+    private final Logger log = LoggerFactory.getLogger(LiveFeedService.class);
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.LiveFeed properties;
+
+    private final Map<Class<?>, Feed<?>> feeds = new ConcurrentHashMap<>();
+
+    public LiveFeedService(ReactiveMongoOperations mongoOperations, MeterRegistry meterRegistry, ApplicationProperties properties) {
+        this.mongoOperations = mongoOperations;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties.getLiveFeed();
+    }
+
+    /**
+     * Subscribe to the entities inserted into a collection.
+     *
+     * @param entityClass the entity class of the collection.
+     * @param lastEventId the id of the last entity received by a reconnecting client, or null to only get the next entities.
+     * @param <T> the type of the entities.
+     * @return the inserted entities, never completing unless the client does not keep up.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<LiveEventDTO<T>> subscribe(Class<T> entityClass, String lastEventId) {
+        Feed<T> feed = (Feed<T>) feeds.computeIfAbsent(entityClass, Feed::new);
+        return feed.subscribe(lastEventId);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        feeds.values().forEach(feed -> feed.changes.dispose());
+    }
+
+    private final class Feed<T> {
+
+        private final Class<T> entityClass;
+
+        /**
+         * Prefix of the event ids, telling the ids of this feed from the ids of a previous run or another instance.
+         */
+        private final String epoch = UUID.randomUUID().toString();
+
+        private final Sinks.Many<Entry<T>> sink = Sinks.many().replay().limit(properties.getReplaySize());
+
+        private final AtomicLong lastSequence = new AtomicLong();
+
+        private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+
+        private final AtomicInteger subscribers;
+
+        private final Counter overflows;
+
+        private final Disposable changes;
+
+        private Feed(Class<T> entityClass) {
+            this.entityClass = entityClass;
+            String entityName = entityClass.getSimpleName();
+            this.subscribers = meterRegistry.gauge("live.feed.subscribers", Tags.of("entity", entityName), new AtomicInteger());
+            this.overflows = meterRegistry.counter("live.feed.overflows", "entity", entityName);
+            Instant start = Instant.now();
+            this.changes =
+                Flux
+                    .defer(() -> {
+                        // after a failure, the change stream resumes after the last received change
+                        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions
+                            .builder()
+                            .filter(newAggregation(match(where("operationType").is("insert"))));
+                        BsonValue token = resumeToken.get();
+                        return mongoOperations.changeStream(
+                            null,
+                            mongoOperations.getCollectionName(entityClass),
+                            token != null ? options.resumeAfter(token).build() : options.resumeAt(start).build(),
+                            entityClass
+                        );
+                    })
+                    .doOnError(e -> log.warn("The change stream of the live {} feed failed: {}", entityName, e.getMessage()))
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1)))
+                    .subscribe(this::publish);
+        }
+
+        private void publish(ChangeStreamEvent<T> event) {
+            resumeToken.set(event.getResumeToken());
+            T entity = event.getBody();
+            if (entity == null) {
+                return;
+            }
+            long sequence = lastSequence.get() + 1;
+            sink.emitNext(new Entry<>(sequence, entity), Sinks.EmitFailureHandler.FAIL_FAST);
+            // only published once in the replay buffer, so that a new subscriber cannot skip it
+            lastSequence.set(sequence);
+        }
+
+        private Flux<LiveEventDTO<T>> subscribe(String lastEventId) {
+            return Flux.defer(() -> {
+                long after = resumedSequence(lastEventId);
+                return sink
+                    .asFlux()
+                    .filter(entry -> entry.sequence > after)
+                    .onBackpressureBuffer(properties.getSubscriberBufferSize())
+                    .onErrorResume(
+                        Exceptions::isOverflow,
+                        e -> {
+                            log.debug("Closed the live {} feed of a slow client", entityClass.getSimpleName());
+                            overflows.increment();
+                            return Flux.empty();
+                        }
+                    )
+                    .map(entry -> new LiveEventDTO<>(epoch + "-" + entry.sequence, entry.entity))
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signalType -> subscribers.decrementAndGet());
+            });
+        }
+
+        /**
+         * Get the sequence after which a subscriber starts: the sequence of its last event if it comes from this feed,
+         * otherwise the sequence of the last published entity.
+         */
+        private long resumedSequence(String lastEventId) {
+            if (lastEventId != null && lastEventId.startsWith(epoch + "-")) {
+                try {
+                    return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+                } catch (NumberFormatException e) {
+                    log.debug("Invalid live {} feed event id: {}", entityClass.getSimpleName(), lastEventId);
+                }
+            }
+            return lastSequence.get();
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final long sequence;
+
+        private final T entity;
+
+        private Entry(long sequence, T entity) {
+            this.sequence = sequence;
+            this.entity = entity;
+        }
+    }
+}
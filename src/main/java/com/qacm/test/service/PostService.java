@@ -1,6 +1,10 @@
 package com.qacm.test.service;
 
 import com.qacm.test.domain.Post;
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
+import com.qacm.test.service.dto.LiveEventDTO;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,7 +25,7 @@ public interface PostService {
      * Updates a post.
      *
      * @param post the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if there is no entity with this id.
      */
     Mono<Post> update(Post post);
 
@@ -29,7 +33,7 @@ public interface PostService {
      * Partially updates a post.
      *
      * @param post the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if there is no entity with this id.
      */
     Mono<Post> partialUpdate(Post post);
 
@@ -41,6 +45,24 @@ public interface PostService {
      */
     Flux<Post> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset (cursor) page of posts.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities to return.
+     * @return the list of entities, in query order.
+     */
+    Flux<Post> findAll(Keyset keyset, int limit);
+
+    /**
+     * Get a keyset (cursor) page of posts with eager load of many-to-many relationships.
+     *
+     * @param keyset the position and direction of the page.
+     * @param limit the maximum number of entities to return.
+     * @return the list of entities, in query order.
+     */
+    Flux<Post> findAllWithEagerRelationships(Keyset keyset, int limit);
+
     /**
      * Get all the posts with eager load of many-to-many relationships.
      *
@@ -71,4 +93,20 @@ public interface PostService {
      * @return a Mono to signal the deletion
      */
     Mono<Void> delete(String id);
+
+    /**
+     * Create, update and delete posts in bulk.
+     *
+     * @param operations the operations.
+     * @return the result of each operation, in the order of the operations.
+     */
+    Flux<BulkResultDTO> bulk(Flux<BulkOperationDTO<Post>> operations);
+
+    /**
+     * Get the posts as they are created.
+     *
+     * @param lastEventId the id of the last post received by a reconnecting client, or null to only get the next posts.
+     * @return the created posts.
+     */
+    Flux<LiveEventDTO<Post>> findLive(String lastEventId);
 }
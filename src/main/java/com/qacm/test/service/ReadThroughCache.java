@@ -0,0 +1,76 @@
+package com.qacm.test.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qacm.test.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded in-process cache of entities by id, loaded on demand.
+ * <p>
+ * Concurrent lookups of the same missing id share a single load. Entities are evicted when they expire, when the cache is full,
+ * or when {@link #invalidate(String)} is called after a write, on this instance or another one. The hits, misses and evictions
+ * are published as the {@code cache.*} metrics, tagged with the cache name.
+ * <p>
+ * Caches are named after the collection of their entities, which is how changes of the database are routed to them.
+ *
+ * @param <T> the type of the entities.
+ */
+public class ReadThroughCache<T> {
+
+    private final Logger log = LoggerFactory.getLogger(ReadThroughCache.class);
+
+    private final String name;
+
+    private final AsyncCache<String, T> cache;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    public ReadThroughCache(
+        String name,
+        ApplicationProperties.EntityCache properties,
+        MeterRegistry meterRegistry,
+        CacheInvalidationService cacheInvalidationService
+    ) {
+        this.name = name;
+        this.cache =
+            Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).expireAfterWrite(properties.getTtl()).recordStats().buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), name);
+        this.cacheInvalidationService = cacheInvalidationService;
+        cacheInvalidationService.register(name, this::evict, cache.synchronous()::invalidateAll);
+    }
+
+    /**
+     * Get an entity from the cache, or load it.
+     *
+     * @param id the id of the entity.
+     * @param loader the loader of the entity, whose empty result is not cached.
+     * @return the entity.
+     */
+    public Mono<T> get(String id, Function<String, Mono<T>> loader) {
+        // a copy of the shared future, so that a cancelled lookup does not cancel the load awaited by the others
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key).toFuture()).copy());
+    }
+
+    /**
+     * Discard an entity from this cache and the caches of the other instances, after it was written to.
+     *
+     * @param id the id of the entity.
+     */
+    public void invalidate(String id) {
+        if (id != null) {
+            evict(id);
+            cacheInvalidationService.publish(name, id);
+        }
+    }
+
+    private void evict(String id) {
+        log.debug("Invalidated the cached {} {}", name, id);
+        cache.synchronous().invalidate(id);
+    }
+}
@@ -1,5 +1,9 @@
 package com.qacm.test.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.qacm.test.config.ApplicationProperties;
 import com.qacm.test.config.Constants;
 import com.qacm.test.domain.Authority;
 import com.qacm.test.domain.User;
@@ -8,6 +12,12 @@ import com.qacm.test.repository.UserRepository;
 import com.qacm.test.security.SecurityUtils;
 import com.qacm.test.service.dto.AdminUserDTO;
 import com.qacm.test.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -35,9 +45,38 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, AuthorityRepository authorityRepository) {
+    private final EntityCountService entityCountService;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    private final ApplicationProperties.UserSync userSyncProperties;
+
+    /**
+     * The users synchronized with the IdP, by {@code sub} claim, until their token expires.
+     */
+    private final Cache<String, SyncedUser> syncedUsers;
+
+    private final Counter skippedSyncs;
+
+    private final Counter performedSyncs;
+
+    public UserService(
+        UserRepository userRepository,
+        AuthorityRepository authorityRepository,
+        EntityCountService entityCountService,
+        AuthorityRegistry authorityRegistry,
+        ApplicationProperties properties,
+        MeterRegistry meterRegistry
+    ) {
         this.userRepository = userRepository;
         this.authorityRepository = authorityRepository;
+        this.entityCountService = entityCountService;
+        this.authorityRegistry = authorityRegistry;
+        this.userSyncProperties = properties.getUserSync();
+        this.syncedUsers =
+            Caffeine.newBuilder().maximumSize(userSyncProperties.getMaximumSize()).expireAfter(new SyncedUserExpiry()).build();
+        this.skippedSyncs = meterRegistry.counter("user.sync", "result", "skipped");
+        this.performedSyncs = meterRegistry.counter("user.sync", "result", "performed");
     }
 
     /**
@@ -62,25 +101,15 @@ public class UserService {
                 }
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
-                return saveUser(user);
+                return userRepository.save(user);
+            })
+            .doOnNext(user -> {
+                evictSyncedUser(user);
+                log.debug("Changed Information for User: {}", user);
             })
-            .doOnNext(user -> log.debug("Changed Information for User: {}", user))
             .then();
     }
 
-    private Mono<User> saveUser(User user) {
-        return SecurityUtils
-            .getCurrentUserLogin()
-            .switchIfEmpty(Mono.just(Constants.SYSTEM))
-            .flatMap(login -> {
-                if (user.getCreatedBy() == null) {
-                    user.setCreatedBy(login);
-                }
-                user.setLastModifiedBy(login);
-                return userRepository.save(user);
-            });
-    }
-
     public Flux<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNull(pageable).map(AdminUserDTO::new);
     }
@@ -90,7 +119,7 @@ public class UserService {
     }
 
     public Mono<Long> countManagedUsers() {
-        return userRepository.count();
+        return entityCountService.count(User.class);
     }
 
     public Mono<User> getUserWithAuthoritiesByLogin(String login) {
@@ -107,45 +136,41 @@ public class UserService {
 
     private Mono<User> syncUserWithIdP(Map<String, Object> details, User user) {
         // save authorities in to sync user roles/groups between IdP and JHipster's local database
-        Collection<String> userAuthorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList());
-
-        return getAuthorities()
-            .collectList()
-            .flatMapMany(dbAuthorities -> {
-                List<Authority> authoritiesToSave = userAuthorities
-                    .stream()
-                    .filter(authority -> !dbAuthorities.contains(authority))
-                    .map(authority -> {
-                        Authority authorityToSave = new Authority();
-                        authorityToSave.setName(authority);
-                        return authorityToSave;
-                    })
-                    .collect(Collectors.toList());
-                return Flux.fromIterable(authoritiesToSave);
-            })
-            .doOnNext(authority -> log.debug("Saving authority '{}' in local database", authority))
-            .flatMap(authorityRepository::save)
+        Set<String> userAuthorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
+
+        return authorityRegistry
+            .register(userAuthorities)
             .then(userRepository.findOneByLogin(user.getLogin()))
-            .switchIfEmpty(userRepository.save(user))
+            .switchIfEmpty(userRepository.save(user).doOnSuccess(savedUser -> entityCountService.invalidate(User.class)))
             .flatMap(existingUser -> {
                 // if IdP sends last updated information, use it to determine if an update should happen
                 if (details.get("updated_at") != null) {
                     Instant dbModifiedDate = existingUser.getLastModifiedDate();
                     Instant idpModifiedDate = (Instant) details.get("updated_at");
-                    if (idpModifiedDate.isAfter(dbModifiedDate)) {
-                        log.debug("Updating user '{}' in local database", user.getLogin());
-                        return updateUser(user.getFirstName(), user.getLastName(), user.getEmail(), user.getLangKey(), user.getImageUrl());
+                    if (dbModifiedDate == null || idpModifiedDate.isAfter(dbModifiedDate)) {
+                        return updateUserFromIdP(existingUser, user);
                     }
                     // no last updated info, blindly update
                 } else {
-                    log.debug("Updating user '{}' in local database", user.getLogin());
-                    return updateUser(user.getFirstName(), user.getLastName(), user.getEmail(), user.getLangKey(), user.getImageUrl());
+                    return updateUserFromIdP(existingUser, user);
                 }
                 return Mono.empty();
             })
             .thenReturn(user);
     }
 
+    private Mono<User> updateUserFromIdP(User existingUser, User user) {
+        log.debug("Updating user '{}' in local database", user.getLogin());
+        existingUser.setFirstName(user.getFirstName());
+        existingUser.setLastName(user.getLastName());
+        if (user.getEmail() != null) {
+            existingUser.setEmail(user.getEmail().toLowerCase());
+        }
+        existingUser.setLangKey(user.getLangKey());
+        existingUser.setImageUrl(user.getImageUrl());
+        return userRepository.save(existingUser);
+    }
+
     /**
      * Returns the user from an OAuth 2.0 login or resource server with JWT.
      * Synchronizes the user in the local repository.
@@ -176,10 +201,67 @@ public class UserService {
                 .collect(Collectors.toSet())
         );
 
-        return syncUserWithIdP(attributes, user).flatMap(u -> Mono.just(new AdminUserDTO(u)));
+        // the user is only synchronized again when its claims changed since the last synchronization
+        String sub = String.valueOf(attributes.get("sub"));
+        String fingerprint = fingerprint(user, attributes.get("updated_at"));
+        SyncedUser syncedUser = syncedUsers.getIfPresent(sub);
+        if (syncedUser != null && syncedUser.fingerprint.equals(fingerprint)) {
+            skippedSyncs.increment();
+            return Mono.just(syncedUser.user);
+        }
+        return syncUserWithIdP(attributes, user)
+            .map(AdminUserDTO::new)
+            .doOnNext(userDTO -> {
+                performedSyncs.increment();
+                syncedUsers.put(sub, new SyncedUser(fingerprint, userDTO, getExpiration(attributes)));
+            });
+    }
+
+    /**
+     * Forget the synchronization of a user written locally, whose {@code sub} claim is either its id or its login.
+     */
+    private void evictSyncedUser(User user) {
+        syncedUsers.invalidate(user.getId());
+        syncedUsers.invalidate(user.getLogin());
+    }
+
+    private Instant getExpiration(Map<String, Object> details) {
+        Object expiration = details.get("exp");
+        if (expiration instanceof Instant) {
+            return (Instant) expiration;
+        } else if (expiration instanceof Number) {
+            return Instant.ofEpochSecond(((Number) expiration).longValue());
+        }
+        return Instant.now().plus(userSyncProperties.getDefaultTtl());
+    }
+
+    /**
+     * Hash the information of the IdP that is synchronized to the local database.
+     */
+    private static String fingerprint(User user, Object updatedAt) {
+        String authorities = user.getAuthorities().stream().map(Authority::getName).sorted().collect(Collectors.joining(","));
+        String claims = String.join(
+            "\n",
+            user.getId(),
+            user.getLogin(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getEmail(),
+            user.getLangKey(),
+            user.getImageUrl(),
+            String.valueOf(user.isActivated()),
+            authorities,
+            String.valueOf(updatedAt)
+        );
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(claims.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private static User getUser(Map<String, Object> details) {
+    static User getUser(Map<String, Object> details) {
         User user = new User();
         Boolean activated = Boolean.TRUE;
         String sub = String.valueOf(details.get("sub"));
@@ -239,4 +321,40 @@ public class UserService {
         user.setActivated(activated);
         return user;
     }
+
+    private static final class SyncedUser {
+
+        private final String fingerprint;
+
+        private final AdminUserDTO user;
+
+        private final Instant expiration;
+
+        private SyncedUser(String fingerprint, AdminUserDTO user, Instant expiration) {
+            this.fingerprint = fingerprint;
+            this.user = user;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Expire the synchronized users with their token.
+     */
+    private static final class SyncedUserExpiry implements Expiry<String, SyncedUser> {
+
+        @Override
+        public long expireAfterCreate(String sub, SyncedUser syncedUser, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), syncedUser.expiration).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String sub, SyncedUser syncedUser, long currentTime, long currentDuration) {
+            return expireAfterCreate(sub, syncedUser, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String sub, SyncedUser syncedUser, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.qacm.test.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A DTO representing one operation of a bulk write.
+ * <p>
+ * A {@code create} operation holds the new entity, without id. An {@code update} operation holds the whole updated entity,
+ * with its id. A {@code delete} operation holds the id of the entity to delete.
+ *
+ * @param <T> the type of the entity.
+ */
+public class BulkOperationDTO<T> {
+
+    /**
+     * The kind of a bulk operation.
+     */
+    public enum Op {
+        @JsonProperty("create")
+        CREATE,
+        @JsonProperty("update")
+        UPDATE,
+        @JsonProperty("delete")
+        DELETE,
+    }
+
+    private Op op;
+
+    private String id;
+
+    private T entity;
+
+    public BulkOperationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkOperationDTO(Op op, String id, T entity) {
+        this.op = op;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public Op getOp() {
+        return op;
+    }
+
+    public void setOp(Op op) {
+        this.op = op;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public void setEntity(T entity) {
+        this.entity = entity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkOperationDTO{" +
+            "op=" + op +
+            ", id='" + id + '\'' +
+            ", entity=" + entity +
+            "}";
+    }
+}
@@ -0,0 +1,89 @@
+package com.qacm.test.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A DTO representing the result of one operation of a bulk write.
+ * <p>
+ * The status is the HTTP status that the operation would have had as a single request: {@code 201} for a created entity,
+ * {@code 200} for an updated one, {@code 204} for a deleted one, {@code 400} for an invalid operation, {@code 404} when the
+ * entity to update or delete does not exist, {@code 409} for a duplicate key or an entity modified since its
+ * version, and {@code 500} for a failed write.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkResultDTO {
+
+    private long index;
+
+    private BulkOperationDTO.Op op;
+
+    private String id;
+
+    private int status;
+
+    private String error;
+
+    public BulkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkResultDTO(long index, BulkOperationDTO.Op op, String id, int status, String error) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public BulkOperationDTO.Op getOp() {
+        return op;
+    }
+
+    public void setOp(BulkOperationDTO.Op op) {
+        this.op = op;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkResultDTO{" +
+            "index=" + index +
+            ", op=" + op +
+            ", id='" + id + '\'' +
+            ", status=" + status +
+            ", error='" + error + '\'' +
+            "}";
+    }
+}
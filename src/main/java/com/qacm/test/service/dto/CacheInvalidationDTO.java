@@ -0,0 +1,64 @@
+package com.qacm.test.service.dto;
+
+import java.util.Objects;
+
+/**
+ * A DTO representing the invalidation of a cached entity, sent between the instances of the application.
+ */
+public class CacheInvalidationDTO {
+
+    private String cache;
+
+    private String id;
+
+    public CacheInvalidationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CacheInvalidationDTO(String cache, String id) {
+        this.cache = cache;
+        this.id = id;
+    }
+
+    public String getCache() {
+        return cache;
+    }
+
+    public void setCache(String cache) {
+        this.cache = cache;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidationDTO)) {
+            return false;
+        }
+        CacheInvalidationDTO that = (CacheInvalidationDTO) o;
+        return Objects.equals(cache, that.cache) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cache, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidationDTO{" +
+            "cache='" + cache + '\'' +
+            ", id='" + id + '\'' +
+            "}";
+    }
+}
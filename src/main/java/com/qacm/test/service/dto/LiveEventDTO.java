@@ -0,0 +1,35 @@
+package com.qacm.test.service.dto;
+
+/**
+ * A DTO representing an entity of a live feed, with the id from which a reconnecting client resumes the feed.
+ *
+ * @param <T> the type of the entity.
+ */
+public class LiveEventDTO<T> {
+
+    private final String id;
+
+    private final T entity;
+
+    public LiveEventDTO(String id, T entity) {
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LiveEventDTO{" +
+            "id='" + id + '\'' +
+            ", entity=" + entity +
+            "}";
+    }
+}
@@ -1,8 +1,25 @@
 package com.qacm.test.service.impl;
 
+import com.qacm.test.config.ApplicationProperties;
 import com.qacm.test.domain.Comment;
+import com.qacm.test.domain.Post;
 import com.qacm.test.repository.CommentRepository;
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.repository.PostRepository;
+import com.qacm.test.service.BulkWriteService;
+import com.qacm.test.service.CacheInvalidationService;
 import com.qacm.test.service.CommentService;
+import com.qacm.test.service.EntityCountService;
+import com.qacm.test.service.LiveFeedService;
+import com.qacm.test.service.ReadThroughCache;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
+import com.qacm.test.service.dto.LiveEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -20,39 +37,61 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
 
-    public CommentServiceImpl(CommentRepository commentRepository) {
+    private final PostRepository postRepository;
+
+    private final EntityCountService entityCountService;
+
+    private final BulkWriteService bulkWriteService;
+
+    private final ReadThroughCache<Comment> cache;
+
+    private final LiveFeedService liveFeedService;
+
+    public CommentServiceImpl(
+        CommentRepository commentRepository,
+        PostRepository postRepository,
+        EntityCountService entityCountService,
+        BulkWriteService bulkWriteService,
+        ApplicationProperties properties,
+        MeterRegistry meterRegistry,
+        CacheInvalidationService cacheInvalidationService,
+        LiveFeedService liveFeedService
+    ) {
         this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.entityCountService = entityCountService;
+        this.bulkWriteService = bulkWriteService;
+        this.cache = new ReadThroughCache<>("comment", properties.getEntityCache(), meterRegistry, cacheInvalidationService);
+        this.liveFeedService = liveFeedService;
     }
 
     @Override
     public Mono<Comment> save(Comment comment) {
         log.debug("Request to save Comment : {}", comment);
-        return commentRepository.save(comment);
+        boolean created = comment.getId() == null;
+        return withPostReference(comment)
+            .flatMap(commentRepository::save)
+            .doOnSuccess(savedComment -> {
+                if (created) {
+                    entityCountService.invalidate(Comment.class);
+                } else {
+                    cache.invalidate(comment.getId());
+                }
+            });
     }
 
     @Override
     public Mono<Comment> update(Comment comment) {
         log.debug("Request to save Comment : {}", comment);
-        return commentRepository.save(comment);
+        return withPostReference(comment)
+            .flatMap(commentRepository::update)
+            .doOnSuccess(updatedComment -> cache.invalidate(comment.getId()));
     }
 
     @Override
     public Mono<Comment> partialUpdate(Comment comment) {
         log.debug("Request to partially update Comment : {}", comment);
-
-        return commentRepository
-            .findById(comment.getId())
-            .map(existingComment -> {
-                if (comment.getText() != null) {
-                    existingComment.setText(comment.getText());
-                }
-                if (comment.getCreaionDate() != null) {
-                    existingComment.setCreaionDate(comment.getCreaionDate());
-                }
-
-                return existingComment;
-            })
-            .flatMap(commentRepository::save);
+        return commentRepository.partialUpdate(comment).doOnSuccess(updatedComment -> cache.invalidate(comment.getId()));
     }
 
     @Override
@@ -61,23 +100,108 @@ public class CommentServiceImpl implements CommentService {
         return commentRepository.findAllBy(pageable);
     }
 
+    @Override
+    public Flux<Comment> findAll(Keyset keyset, int limit) {
+        log.debug("Request to get a keyset page of Comments : {}", keyset);
+        return commentRepository.findAllByKeyset(keyset, limit);
+    }
+
+    @Override
+    public Flux<Comment> findAllByPost(String postId, Keyset keyset, int limit) {
+        log.debug("Request to get a keyset page of the Comments of Post {} : {}", postId, keyset);
+        return commentRepository.findAllByPostIdAndKeyset(postId, keyset, limit);
+    }
+
+    @Override
+    public Flux<Comment> findAllWithEagerRelationships(Keyset keyset, int limit) {
+        log.debug("Request to get a keyset page of Comments with eager relationships : {}", keyset);
+        return commentRepository.findAllByKeysetWithEagerRelationships(keyset, limit);
+    }
+
     public Flux<Comment> findAllWithEagerRelationships(Pageable pageable) {
         return commentRepository.findAllWithEagerRelationships(pageable);
     }
 
     public Mono<Long> countAll() {
-        return commentRepository.count();
+        return entityCountService.count(Comment.class);
     }
 
     @Override
     public Mono<Comment> findOne(String id) {
         log.debug("Request to get Comment : {}", id);
-        return commentRepository.findOneWithEagerRelationships(id);
+        return cache.get(id, commentRepository::findOneWithEagerRelationships);
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Comment : {}", id);
-        return commentRepository.deleteById(id);
+        return commentRepository
+            .deleteById(id)
+            .doOnSuccess(deleted -> {
+                entityCountService.invalidate(Comment.class);
+                cache.invalidate(id);
+            });
+    }
+
+    @Override
+    public Flux<BulkResultDTO> bulk(Flux<BulkOperationDTO<Comment>> operations) {
+        log.debug("Request to bulk write Comments");
+        return bulkWriteService
+            .write(Comment.class, operations, this::withPostReferences)
+            .doOnNext(result -> {
+                if (result.getOp() != BulkOperationDTO.Op.CREATE) {
+                    cache.invalidate(result.getId());
+                }
+            });
+    }
+
+    @Override
+    public Flux<LiveEventDTO<Comment>> findLiveByPost(String postId, String lastEventId) {
+        log.debug("Request to get the live Comments of Post {} after : {}", postId, lastEventId);
+        return liveFeedService
+            .subscribe(Comment.class, lastEventId)
+            .filter(event -> event.getEntity().getPost() != null && postId.equals(event.getEntity().getPost().getId()));
+    }
+
+    /**
+     * Replace the post sent by the client with a reference to the stored post, made of its id and title.
+     */
+    private Mono<Comment> withPostReference(Comment comment) {
+        Post post = comment.getPost();
+        if (post == null || post.getId() == null) {
+            return Mono.just(comment);
+        }
+        return postRepository.findById(post.getId()).defaultIfEmpty(post).map(storedPost -> comment.post(toReference(storedPost)));
+    }
+
+    /**
+     * Replace the posts of a batch of comments with references to the stored posts, loading them with one query.
+     */
+    private Mono<Void> withPostReferences(List<Comment> comments) {
+        Set<String> postIds = comments
+            .stream()
+            .map(Comment::getPost)
+            .filter(Objects::nonNull)
+            .map(Post::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (postIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return postRepository
+            .findAllById(postIds)
+            .collectMap(Post::getId, CommentServiceImpl::toReference)
+            .doOnNext(references ->
+                comments
+                    .stream()
+                    .filter(comment -> comment.getPost() != null && comment.getPost().getId() != null)
+                    .forEach(comment -> comment.setPost(references.getOrDefault(comment.getPost().getId(), toReference(comment.getPost()))))
+            )
+            .then();
+    }
+
+    private static Post toReference(Post post) {
+        // the audit fields of the post are not copied into its comments
+        return new Post().id(post.getId()).title(post.getTitle());
     }
 }
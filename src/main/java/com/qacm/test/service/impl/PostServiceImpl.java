@@ -1,8 +1,26 @@
 package com.qacm.test.service.impl;
 
+import com.qacm.test.config.ApplicationProperties;
 import com.qacm.test.domain.Post;
+import com.qacm.test.domain.User;
+import com.qacm.test.domain.UserSummary;
+import com.qacm.test.repository.Keyset;
 import com.qacm.test.repository.PostRepository;
+import com.qacm.test.repository.UserRepository;
+import com.qacm.test.service.BulkWriteService;
+import com.qacm.test.service.CacheInvalidationService;
+import com.qacm.test.service.EntityCountService;
+import com.qacm.test.service.LiveFeedService;
 import com.qacm.test.service.PostService;
+import com.qacm.test.service.ReadThroughCache;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
+import com.qacm.test.service.dto.LiveEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -20,42 +38,59 @@ public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
 
-    public PostServiceImpl(PostRepository postRepository) {
+    private final UserRepository userRepository;
+
+    private final EntityCountService entityCountService;
+
+    private final BulkWriteService bulkWriteService;
+
+    private final ReadThroughCache<Post> cache;
+
+    private final LiveFeedService liveFeedService;
+
+    public PostServiceImpl(
+        PostRepository postRepository,
+        UserRepository userRepository,
+        EntityCountService entityCountService,
+        BulkWriteService bulkWriteService,
+        ApplicationProperties properties,
+        MeterRegistry meterRegistry,
+        CacheInvalidationService cacheInvalidationService,
+        LiveFeedService liveFeedService
+    ) {
         this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.entityCountService = entityCountService;
+        this.bulkWriteService = bulkWriteService;
+        this.cache = new ReadThroughCache<>("post", properties.getEntityCache(), meterRegistry, cacheInvalidationService);
+        this.liveFeedService = liveFeedService;
     }
 
     @Override
     public Mono<Post> save(Post post) {
         log.debug("Request to save Post : {}", post);
-        return postRepository.save(post);
+        boolean created = post.getId() == null;
+        return withCreatorSummary(post)
+            .flatMap(postRepository::save)
+            .doOnSuccess(savedPost -> {
+                if (created) {
+                    entityCountService.invalidate(Post.class);
+                } else {
+                    cache.invalidate(post.getId());
+                }
+            });
     }
 
     @Override
     public Mono<Post> update(Post post) {
         log.debug("Request to save Post : {}", post);
-        return postRepository.save(post);
+        return withCreatorSummary(post).flatMap(postRepository::update).doOnSuccess(updatedPost -> cache.invalidate(post.getId()));
     }
 
     @Override
     public Mono<Post> partialUpdate(Post post) {
         log.debug("Request to partially update Post : {}", post);
-
-        return postRepository
-            .findById(post.getId())
-            .map(existingPost -> {
-                if (post.getTitle() != null) {
-                    existingPost.setTitle(post.getTitle());
-                }
-                if (post.getRequired() != null) {
-                    existingPost.setRequired(post.getRequired());
-                }
-                if (post.getCreationDate() != null) {
-                    existingPost.setCreationDate(post.getCreationDate());
-                }
-
-                return existingPost;
-            })
-            .flatMap(postRepository::save);
+        return postRepository.partialUpdate(post).doOnSuccess(updatedPost -> cache.invalidate(post.getId()));
     }
 
     @Override
@@ -64,23 +99,94 @@ public class PostServiceImpl implements PostService {
         return postRepository.findAllBy(pageable);
     }
 
+    @Override
+    public Flux<Post> findAll(Keyset keyset, int limit) {
+        log.debug("Request to get a keyset page of Posts : {}", keyset);
+        return postRepository.findAllByKeyset(keyset, limit);
+    }
+
+    @Override
+    public Flux<Post> findAllWithEagerRelationships(Keyset keyset, int limit) {
+        log.debug("Request to get a keyset page of Posts with eager relationships : {}", keyset);
+        return postRepository.findAllByKeysetWithEagerRelationships(keyset, limit);
+    }
+
     public Flux<Post> findAllWithEagerRelationships(Pageable pageable) {
         return postRepository.findAllWithEagerRelationships(pageable);
     }
 
     public Mono<Long> countAll() {
-        return postRepository.count();
+        return entityCountService.count(Post.class);
     }
 
     @Override
     public Mono<Post> findOne(String id) {
         log.debug("Request to get Post : {}", id);
-        return postRepository.findOneWithEagerRelationships(id);
+        return cache.get(id, postRepository::findOneWithEagerRelationships);
     }
 
     @Override
     public Mono<Void> delete(String id) {
         log.debug("Request to delete Post : {}", id);
-        return postRepository.deleteById(id);
+        return postRepository
+            .deleteById(id)
+            .doOnSuccess(deleted -> {
+                entityCountService.invalidate(Post.class);
+                cache.invalidate(id);
+            });
+    }
+
+    @Override
+    public Flux<BulkResultDTO> bulk(Flux<BulkOperationDTO<Post>> operations) {
+        log.debug("Request to bulk write Posts");
+        return bulkWriteService
+            .write(Post.class, operations, this::withCreatorSummaries)
+            .doOnNext(result -> {
+                if (result.getOp() != BulkOperationDTO.Op.CREATE) {
+                    cache.invalidate(result.getId());
+                }
+            });
+    }
+
+    @Override
+    public Flux<LiveEventDTO<Post>> findLive(String lastEventId) {
+        log.debug("Request to get the live Posts after : {}", lastEventId);
+        return liveFeedService.subscribe(Post.class, lastEventId);
+    }
+
+    /**
+     * Replace the creator summary sent by the client with the summary of the stored user, when it exists.
+     */
+    private Mono<Post> withCreatorSummary(Post post) {
+        if (post.getCreator() == null || post.getCreator().getId() == null) {
+            return Mono.just(post);
+        }
+        return userRepository.findById(post.getCreator().getId()).map(user -> post.creator(UserSummary.of(user))).defaultIfEmpty(post);
+    }
+
+    /**
+     * Replace the creator summaries of a batch of posts, loading the stored users with one query.
+     */
+    private Mono<Void> withCreatorSummaries(List<Post> posts) {
+        Set<String> creatorIds = posts
+            .stream()
+            .map(Post::getCreator)
+            .filter(Objects::nonNull)
+            .map(UserSummary::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (creatorIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return userRepository
+            .findAllById(creatorIds)
+            .collectMap(User::getId, UserSummary::of)
+            .doOnNext(summaries ->
+                posts
+                    .stream()
+                    .filter(post -> post.getCreator() != null && summaries.containsKey(post.getCreator().getId()))
+                    .forEach(post -> post.setCreator(summaries.get(post.getCreator().getId())))
+            )
+            .then();
     }
 }
@@ -1,5 +1,12 @@
 package com.qacm.test.web.filter;
 
+import com.qacm.test.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
@@ -8,18 +15,44 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.WebSession;
 import reactor.core.publisher.Mono;
 
 /**
  * Refresh oauth2 tokens based on TokenRelayGatewayFilterFactory.
+ * <p>
+ * The expiration time of the access token is kept in the session, so that the authorized client is only looked up once the
+ * token is within {@code application.token-refresh.refresh-window} of its expiration. Concurrent requests of a session share
+ * a single refresh.
  */
 @Component
 public class OAuth2ReactiveRefreshTokensWebFilter implements WebFilter {
 
+    private static final String ACCESS_TOKEN_EXPIRES_AT_ATTRIBUTE =
+        OAuth2ReactiveRefreshTokensWebFilter.class.getName() + ".ACCESS_TOKEN_EXPIRES_AT";
+
     private final ReactiveOAuth2AuthorizedClientManager clientManager;
 
-    public OAuth2ReactiveRefreshTokensWebFilter(ReactiveOAuth2AuthorizedClientManager clientManager) {
+    private final Duration refreshWindow;
+
+    private final Map<String, Mono<OAuth2AuthorizedClient>> refreshes = new ConcurrentHashMap<>();
+
+    private final Counter skippedChecks;
+
+    private final Counter performedChecks;
+
+    private final Counter sharedChecks;
+
+    public OAuth2ReactiveRefreshTokensWebFilter(
+        ReactiveOAuth2AuthorizedClientManager clientManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.clientManager = clientManager;
+        this.refreshWindow = applicationProperties.getTokenRefresh().getRefreshWindow();
+        this.skippedChecks = meterRegistry.counter("oauth2.token.refresh.checks", "result", "skipped");
+        this.performedChecks = meterRegistry.counter("oauth2.token.refresh.checks", "result", "performed");
+        this.sharedChecks = meterRegistry.counter("oauth2.token.refresh.checks", "result", "shared");
     }
 
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -27,11 +60,44 @@ public class OAuth2ReactiveRefreshTokensWebFilter implements WebFilter {
             .getPrincipal()
             .filter(principal -> principal instanceof OAuth2AuthenticationToken)
             .cast(OAuth2AuthenticationToken.class)
-            .flatMap(authentication -> authorizedClient(exchange, authentication))
+            .flatMap(authentication -> exchange.getSession().flatMap(session -> refreshIfExpiring(exchange, session, authentication)))
             .thenReturn(exchange)
             .flatMap(chain::filter);
     }
 
+    private Mono<OAuth2AuthorizedClient> refreshIfExpiring(
+        ServerWebExchange exchange,
+        WebSession session,
+        OAuth2AuthenticationToken oauth2Authentication
+    ) {
+        Instant expiresAt = session.getAttribute(ACCESS_TOKEN_EXPIRES_AT_ATTRIBUTE);
+        if (expiresAt != null && Instant.now().isBefore(expiresAt.minus(refreshWindow))) {
+            skippedChecks.increment();
+            return Mono.empty();
+        }
+        String key = session.getId() + ":" + oauth2Authentication.getAuthorizedClientRegistrationId();
+        Mono<OAuth2AuthorizedClient> refresh = refreshes.get(key);
+        if (refresh != null) {
+            sharedChecks.increment();
+            return refresh;
+        }
+        return refreshes.computeIfAbsent(
+            key,
+            k -> {
+                performedChecks.increment();
+                return authorizedClient(exchange, oauth2Authentication)
+                    .doOnNext(authorizedClient -> {
+                        Instant accessTokenExpiresAt = authorizedClient.getAccessToken().getExpiresAt();
+                        if (accessTokenExpiresAt != null) {
+                            session.getAttributes().put(ACCESS_TOKEN_EXPIRES_AT_ATTRIBUTE, accessTokenExpiresAt);
+                        }
+                    })
+                    .doFinally(signalType -> refreshes.remove(k))
+                    .cache();
+            }
+        );
+    }
+
     private Mono<OAuth2AuthorizedClient> authorizedClient(ServerWebExchange exchange, OAuth2AuthenticationToken oauth2Authentication) {
         String clientRegistrationId = oauth2Authentication.getAuthorizedClientRegistrationId();
         OAuth2AuthorizeRequest request = OAuth2AuthorizeRequest
@@ -0,0 +1,51 @@
+package com.qacm.test.web.rest;
+
+import com.qacm.test.service.CacheInvalidationService;
+import com.qacm.test.service.dto.CacheInvalidationDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller receiving the cache invalidations of the other instances of the application.
+ * <p>
+ * The endpoint is not authenticated by the user session or token, but by the {@code application.cache-invalidation.token}
+ * shared by the instances.
+ */
+@RestController
+@RequestMapping("/management")
+public class CacheInvalidationResource {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationResource.class);
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    public CacheInvalidationResource(CacheInvalidationService cacheInvalidationService) {
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+
+    /**
+     * {@code POST  /management/cache-invalidations} : Evict entities from the local caches.
+     *
+     * @param token the token shared by the instances.
+     * @param invalidations the invalidations.
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)}, or with status {@code 403 (Forbidden)} if the token
+     * is not the configured one.
+     */
+    @PostMapping("/cache-invalidations")
+    public Mono<ResponseEntity<Void>> invalidateCaches(
+        @RequestHeader(value = CacheInvalidationService.TOKEN_HEADER, required = false) String token,
+        @RequestBody List<CacheInvalidationDTO> invalidations
+    ) {
+        if (!cacheInvalidationService.isTrusted(token)) {
+            log.warn("Rejected {} cache invalidations with an invalid token", invalidations.size());
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        cacheInvalidationService.evict(invalidations);
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+}
@@ -1,11 +1,18 @@
 package com.qacm.test.web.rest;
 
 import com.qacm.test.domain.Comment;
-import com.qacm.test.repository.CommentRepository;
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.repository.SortIndexes;
 import com.qacm.test.service.CommentService;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
 import com.qacm.test.web.rest.errors.BadRequestAlertException;
+import com.qacm.test.web.rest.util.KeysetPagination;
+import com.qacm.test.web.rest.util.ServerSentEvents;
+import com.qacm.test.web.rest.util.SlicePagination;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,13 +25,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -43,16 +51,22 @@ public class CommentResource {
 
     private static final String ENTITY_NAME = "comment";
 
+    private static final KeysetPagination<Comment> KEYSET_PAGINATION = new KeysetPagination<>(
+        ENTITY_NAME,
+        Comment::getId,
+        KeysetPagination.Property.of("creaionDate", LocalDate::parse, Comment::getCreaionDate)
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CommentService commentService;
 
-    private final CommentRepository commentRepository;
+    private final SortIndexes sortIndexes;
 
-    public CommentResource(CommentService commentService, CommentRepository commentRepository) {
+    public CommentResource(CommentService commentService, SortIndexes sortIndexes) {
         this.commentService = commentService;
-        this.commentRepository = commentRepository;
+        this.sortIndexes = sortIndexes;
     }
 
     /**
@@ -89,6 +103,7 @@ public class CommentResource {
      * @param comment the comment to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated comment,
      * or with status {@code 400 (Bad Request)} if the comment is not valid,
+     * or with status {@code 409 (Conflict)} if the comment was modified since the version it was read at,
      * or with status {@code 500 (Internal Server Error)} if the comment couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -105,23 +120,15 @@ public class CommentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return commentRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return commentService
-                    .update(comment)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return commentService
+            .update(comment)
+            .switchIfEmpty(Mono.error(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -131,6 +138,7 @@ public class CommentResource {
      * @param comment the comment to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated comment,
      * or with status {@code 400 (Bad Request)} if the comment is not valid,
+     * or with status {@code 409 (Conflict)} if the comment was modified since the version it was read at,
      * or with status {@code 404 (Not Found)} if the comment is not found,
      * or with status {@code 500 (Internal Server Error)} if the comment couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -148,44 +156,52 @@ public class CommentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return commentRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Comment> result = commentService.partialUpdate(comment);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return commentService
+            .partialUpdate(comment)
+            .switchIfEmpty(Mono.error(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code GET  /comments} : get all the comments.
+     * <p>
+     * When an {@code after} or {@code before} cursor is given, the page is selected by keyset instead of page number,
+     * and the {@code Link} header points to the cursors of the next and previous pages.
+     * When the {@code X-Total-Count: skip} request header is given, the collection is not counted, and the {@code Link} header
+     * only tells whether there is a next page.
+     * Sorting by properties that no index supports is rejected when the {@code application.indexes.sort-check} property is
+     * {@code fail}.
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the cursor of the entity the page starts after, empty for the first page.
+     * @param before the cursor of the entity the page ends before.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comments in body.
      */
     @GetMapping("/comments")
     public Mono<ResponseEntity<List<Comment>>> getAllComments(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
-        @RequestParam(required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = KeysetPagination.BEFORE_PARAMETER, required = false) String before
     ) {
+        if (KeysetPagination.isKeysetRequest(after, before)) {
+            return checkSortIndex(pageable.getSort()).then(getAllCommentsByKeyset(pageable, request, eagerload, after, before));
+        }
+        if (SlicePagination.isTotalCountSkipped(request)) {
+            return checkSortIndex(pageable.getSort()).then(getAllCommentsWithoutTotalCount(pageable, request, eagerload));
+        }
         log.debug("REST request to get a page of Comments");
-        return commentService
-            .countAll()
-            .zipWith(commentService.findAll(pageable).collectList())
+        return checkSortIndex(pageable.getSort())
+            .then(commentService.countAll())
+            .zipWith(findAll(pageable, eagerload).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
@@ -199,6 +215,200 @@ public class CommentResource {
             );
     }
 
+    private Mono<Void> checkSortIndex(Sort sort) {
+        return sortIndexes
+            .isAllowed(Comment.class, sort)
+            .filter(allowed -> allowed)
+            .switchIfEmpty(
+                Mono.error(() -> new BadRequestAlertException("No index supports sorting by " + sort, ENTITY_NAME, "sortunindexed"))
+            )
+            .then();
+    }
+
+    private Flux<Comment> findAll(Pageable pageable, boolean eagerload) {
+        if (eagerload) {
+            return commentService.findAllWithEagerRelationships(pageable);
+        }
+        return commentService.findAll(pageable);
+    }
+
+    private Flux<Comment> findAll(Keyset keyset, int limit, boolean eagerload) {
+        if (eagerload) {
+            return commentService.findAllWithEagerRelationships(keyset, limit);
+        }
+        return commentService.findAll(keyset, limit);
+    }
+
+    private Mono<ResponseEntity<List<Comment>>> getAllCommentsWithoutTotalCount(
+        Pageable pageable,
+        ServerHttpRequest request,
+        boolean eagerload
+    ) {
+        log.debug("REST request to get a page of Comments without total count");
+        return findAll(SlicePagination.lookahead(pageable), eagerload)
+            .collectList()
+            .map(rows -> SlicePagination.toSlice(rows, pageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(SlicePagination.generateSliceHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            );
+    }
+
+    private Mono<ResponseEntity<List<Comment>>> getAllCommentsByKeyset(
+        Pageable pageable,
+        ServerHttpRequest request,
+        boolean eagerload,
+        String after,
+        String before
+    ) {
+        log.debug("REST request to get a keyset page of Comments");
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(pageable.getSort(), after, before);
+        int size = pageable.getPageSize();
+        return toKeysetPage(findAll(keyset, size + 1, eagerload), keyset, size, request);
+    }
+
+    /**
+     * {@code GET  /posts/:postId/comments} : get a page of the comments of the "postId" post.
+     * <p>
+     * Pages are selected by keyset: the {@code Link} header points to the cursors of the next and previous pages.
+     *
+     * @param postId the id of the post.
+     * @param pageable the pagination information, only the size and sort are used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the entity the page starts after, absent or empty for the first page.
+     * @param before the cursor of the entity the page ends before.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comments in body.
+     */
+    @GetMapping("/posts/{postId}/comments")
+    public Mono<ResponseEntity<List<Comment>>> getPostComments(
+        @PathVariable String postId,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = KeysetPagination.BEFORE_PARAMETER, required = false) String before
+    ) {
+        log.debug("REST request to get a keyset page of the Comments of Post : {}", postId);
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(pageable.getSort(), after == null && before == null ? "" : after, before);
+        int size = pageable.getPageSize();
+        return toKeysetPage(commentService.findAllByPost(postId, keyset, size + 1), keyset, size, request);
+    }
+
+    /**
+     * {@code GET  /posts/:postId/comments} : stream all the comments of the "postId" post.
+     *
+     * @param postId the id of the post.
+     * @param sort the sort order, by {@code id} or {@code creaionDate}.
+     * @param after the cursor of the entity the stream starts after, absent or empty to start with the first comment.
+     * @return the comments, as they are read from the database.
+     */
+    @GetMapping(value = "/posts/{postId}/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Comment> getPostCommentsAsStream(
+        @PathVariable String postId,
+        Sort sort,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after
+    ) {
+        log.debug("REST request to stream the Comments of Post : {}", postId);
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(sort, after == null ? "" : after, null);
+        return commentService.findAllByPost(postId, keyset, 0);
+    }
+
+    private Mono<ResponseEntity<List<Comment>>> toKeysetPage(Flux<Comment> rows, Keyset keyset, int size, ServerHttpRequest request) {
+        return rows
+            .collectList()
+            .map(list ->
+                ResponseEntity
+                    .ok()
+                    .headers(KEYSET_PAGINATION.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, list, size))
+                    .body(KEYSET_PAGINATION.getContent(keyset, list, size))
+            );
+    }
+
+    /**
+     * {@code GET  /comments} : stream all the comments.
+     * <p>
+     * The comments are written as they are read from the database, and the total count is sent in the {@code X-Total-Count}
+     * header, unless the {@code X-Total-Count: skip} request header is given.
+     *
+     * @param sort the sort order, by {@code id} or {@code creaionDate}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the entity the stream starts after, absent or empty to start with the first comment.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the comments in body.
+     */
+    @GetMapping(value = "/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Comment>>> getAllCommentsAsStream(
+        Sort sort,
+        ServerHttpRequest request,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after
+    ) {
+        log.debug("REST request to stream Comments");
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(sort, after == null ? "" : after, null);
+        Flux<Comment> comments = commentService.findAll(keyset, 0);
+        if (SlicePagination.isTotalCountSkipped(request)) {
+            return Mono.just(ResponseEntity.ok().body(comments));
+        }
+        return commentService
+            .countAll()
+            .map(total -> ResponseEntity.ok().header(SlicePagination.TOTAL_COUNT_HEADER, Long.toString(total)).body(comments));
+    }
+
+    /**
+     * {@code GET  /comments} : stream all the comments as server-sent events.
+     * <p>
+     * Each comment is sent as a {@code comment} event, whose id is the cursor of the comment, so that a reconnecting client resumes
+     * the stream after the last received comment. The stream ends with a {@code count} event holding the total count,
+     * which is computed while the comments are streamed.
+     *
+     * @param sort the sort order, by {@code id} or {@code creaionDate}.
+     * @param after the cursor of the entity the stream starts after, absent or empty to start with the first comment.
+     * @param lastEventId the id of the last event received by a reconnecting client, used when there is no {@code after} cursor.
+     * @return the comment events, followed by the count event.
+     */
+    @GetMapping(value = "/comments", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> getAllCommentsAsEventStream(
+        Sort sort,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after,
+        @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        log.debug("REST request to stream Comments as events");
+        String cursor = after != null ? after : lastEventId;
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(sort, cursor == null ? "" : cursor, null);
+        Flux<ServerSentEvent<Object>> commentEvents = commentService
+            .findAll(keyset, 0)
+            .map(comment ->
+                ServerSentEvent.<Object>builder(comment).event(ENTITY_NAME).id(KEYSET_PAGINATION.getCursor(keyset, comment)).build()
+            );
+        Mono<ServerSentEvent<Object>> countEvent = commentService
+            .countAll()
+            .map(total -> ServerSentEvent.<Object>builder(total).event("count").build());
+        return Flux.mergeSequential(commentEvents, countEvent);
+    }
+
+    /**
+     * {@code GET  /posts/:postId/comments/live} : follow the comments of the "postId" post as they are created.
+     * <p>
+     * Each comment is sent as a {@code comment} event when it is created, until the client disconnects. A client reconnecting with
+     * the id of the last received event gets the comments created meanwhile, as long as they are still in the replay buffer.
+     * SSE comment lines are sent as heartbeats every few seconds to keep the connection open.
+     *
+     * @param postId the id of the post.
+     * @param lastEventId the id of the last event received by a reconnecting client.
+     * @return the comment events.
+     */
+    @GetMapping(value = "/posts/{postId}/comments/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Comment>> getLiveComments(
+        @PathVariable String postId,
+        @RequestHeader(name = ServerSentEvents.LAST_EVENT_ID_HEADER, required = false) String lastEventId
+    ) {
+        log.debug("REST request to follow the live Comments of Post : {}", postId);
+        return ServerSentEvents.withHeartbeat(
+            commentService
+                .findLiveByPost(postId, lastEventId)
+                .map(event -> ServerSentEvent.builder(event.getEntity()).event(ENTITY_NAME).id(event.getId()).build())
+        );
+    }
+
     /**
      * {@code GET  /comments/:id} : get the "id" comment.
      *
@@ -228,4 +438,23 @@ public class CommentResource {
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    /**
+     * {@code POST  /comments/_bulk} : Create, update and delete comments in bulk.
+     * <p>
+     * The operations are sent as a JSON array or as newline delimited JSON, and are written in chunks as they are received.
+     * Each operation gets its own result, with the status a single create, update or delete request would have returned.
+     *
+     * @param operations the operations.
+     * @return the {@link Flux} of the results, in the order of the operations.
+     */
+    @PostMapping(
+        value = "/comments/_bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE },
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Flux<BulkResultDTO> bulkComments(@RequestBody Flux<BulkOperationDTO<Comment>> operations) {
+        log.debug("REST request to bulk write Comments");
+        return commentService.bulk(operations);
+    }
 }
@@ -1,11 +1,18 @@
 package com.qacm.test.web.rest;
 
 import com.qacm.test.domain.Post;
-import com.qacm.test.repository.PostRepository;
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.repository.SortIndexes;
 import com.qacm.test.service.PostService;
+import com.qacm.test.service.dto.BulkOperationDTO;
+import com.qacm.test.service.dto.BulkResultDTO;
 import com.qacm.test.web.rest.errors.BadRequestAlertException;
+import com.qacm.test.web.rest.util.KeysetPagination;
+import com.qacm.test.web.rest.util.ServerSentEvents;
+import com.qacm.test.web.rest.util.SlicePagination;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,13 +25,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -43,16 +51,22 @@ public class PostResource {
 
     private static final String ENTITY_NAME = "post";
 
+    private static final KeysetPagination<Post> KEYSET_PAGINATION = new KeysetPagination<>(
+        ENTITY_NAME,
+        Post::getId,
+        KeysetPagination.Property.of("creationDate", LocalDate::parse, Post::getCreationDate)
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PostService postService;
 
-    private final PostRepository postRepository;
+    private final SortIndexes sortIndexes;
 
-    public PostResource(PostService postService, PostRepository postRepository) {
+    public PostResource(PostService postService, SortIndexes sortIndexes) {
         this.postService = postService;
-        this.postRepository = postRepository;
+        this.sortIndexes = sortIndexes;
     }
 
     /**
@@ -89,6 +103,7 @@ public class PostResource {
      * @param post the post to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated post,
      * or with status {@code 400 (Bad Request)} if the post is not valid,
+     * or with status {@code 409 (Conflict)} if the post was modified since the version it was read at,
      * or with status {@code 500 (Internal Server Error)} if the post couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -105,23 +120,15 @@ public class PostResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return postRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return postService
-                    .update(post)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
-                            .body(result)
-                    );
-            });
+        return postService
+            .update(post)
+            .switchIfEmpty(Mono.error(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
@@ -131,6 +138,7 @@ public class PostResource {
      * @param post the post to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated post,
      * or with status {@code 400 (Bad Request)} if the post is not valid,
+     * or with status {@code 409 (Conflict)} if the post was modified since the version it was read at,
      * or with status {@code 404 (Not Found)} if the post is not found,
      * or with status {@code 500 (Internal Server Error)} if the post couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -148,44 +156,52 @@ public class PostResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return postRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Post> result = postService.partialUpdate(post);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId()))
-                            .body(res)
-                    );
-            });
+        return postService
+            .partialUpdate(post)
+            .switchIfEmpty(Mono.error(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code GET  /posts} : get all the posts.
+     * <p>
+     * When an {@code after} or {@code before} cursor is given, the page is selected by keyset instead of page number,
+     * and the {@code Link} header points to the cursors of the next and previous pages.
+     * When the {@code X-Total-Count: skip} request header is given, the collection is not counted, and the {@code Link} header
+     * only tells whether there is a next page.
+     * Sorting by properties that no index supports is rejected when the {@code application.indexes.sort-check} property is
+     * {@code fail}.
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the cursor of the entity the page starts after, empty for the first page.
+     * @param before the cursor of the entity the page ends before.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of posts in body.
      */
     @GetMapping("/posts")
     public Mono<ResponseEntity<List<Post>>> getAllPosts(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
-        @RequestParam(required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = KeysetPagination.BEFORE_PARAMETER, required = false) String before
     ) {
+        if (KeysetPagination.isKeysetRequest(after, before)) {
+            return checkSortIndex(pageable.getSort()).then(getAllPostsByKeyset(pageable, request, eagerload, after, before));
+        }
+        if (SlicePagination.isTotalCountSkipped(request)) {
+            return checkSortIndex(pageable.getSort()).then(getAllPostsWithoutTotalCount(pageable, request, eagerload));
+        }
         log.debug("REST request to get a page of Posts");
-        return postService
-            .countAll()
-            .zipWith(postService.findAll(pageable).collectList())
+        return checkSortIndex(pageable.getSort())
+            .then(postService.countAll())
+            .zipWith(findAll(pageable, eagerload).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
@@ -199,6 +215,143 @@ public class PostResource {
             );
     }
 
+    private Mono<Void> checkSortIndex(Sort sort) {
+        return sortIndexes
+            .isAllowed(Post.class, sort)
+            .filter(allowed -> allowed)
+            .switchIfEmpty(
+                Mono.error(() -> new BadRequestAlertException("No index supports sorting by " + sort, ENTITY_NAME, "sortunindexed"))
+            )
+            .then();
+    }
+
+    private Flux<Post> findAll(Pageable pageable, boolean eagerload) {
+        if (eagerload) {
+            return postService.findAllWithEagerRelationships(pageable);
+        }
+        return postService.findAll(pageable);
+    }
+
+    private Flux<Post> findAll(Keyset keyset, int limit, boolean eagerload) {
+        if (eagerload) {
+            return postService.findAllWithEagerRelationships(keyset, limit);
+        }
+        return postService.findAll(keyset, limit);
+    }
+
+    private Mono<ResponseEntity<List<Post>>> getAllPostsWithoutTotalCount(Pageable pageable, ServerHttpRequest request, boolean eagerload) {
+        log.debug("REST request to get a page of Posts without total count");
+        return findAll(SlicePagination.lookahead(pageable), eagerload)
+            .collectList()
+            .map(rows -> SlicePagination.toSlice(rows, pageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(SlicePagination.generateSliceHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            );
+    }
+
+    private Mono<ResponseEntity<List<Post>>> getAllPostsByKeyset(
+        Pageable pageable,
+        ServerHttpRequest request,
+        boolean eagerload,
+        String after,
+        String before
+    ) {
+        log.debug("REST request to get a keyset page of Posts");
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(pageable.getSort(), after, before);
+        int size = pageable.getPageSize();
+        return findAll(keyset, size + 1, eagerload)
+            .collectList()
+            .map(rows ->
+                ResponseEntity
+                    .ok()
+                    .headers(KEYSET_PAGINATION.generateKeysetHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), keyset, rows, size))
+                    .body(KEYSET_PAGINATION.getContent(keyset, rows, size))
+            );
+    }
+
+    /**
+     * {@code GET  /posts} : stream all the posts.
+     * <p>
+     * The posts are written as they are read from the database, and the total count is sent in the {@code X-Total-Count}
+     * header, unless the {@code X-Total-Count: skip} request header is given.
+     *
+     * @param sort the sort order, by {@code id} or {@code creationDate}.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the entity the stream starts after, absent or empty to start with the first post.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the posts in body.
+     */
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Post>>> getAllPostsAsStream(
+        Sort sort,
+        ServerHttpRequest request,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after
+    ) {
+        log.debug("REST request to stream Posts");
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(sort, after == null ? "" : after, null);
+        Flux<Post> posts = postService.findAll(keyset, 0);
+        if (SlicePagination.isTotalCountSkipped(request)) {
+            return Mono.just(ResponseEntity.ok().body(posts));
+        }
+        return postService
+            .countAll()
+            .map(total -> ResponseEntity.ok().header(SlicePagination.TOTAL_COUNT_HEADER, Long.toString(total)).body(posts));
+    }
+
+    /**
+     * {@code GET  /posts} : stream all the posts as server-sent events.
+     * <p>
+     * Each post is sent as a {@code post} event, whose id is the cursor of the post, so that a reconnecting client resumes
+     * the stream after the last received post. The stream ends with a {@code count} event holding the total count,
+     * which is computed while the posts are streamed.
+     *
+     * @param sort the sort order, by {@code id} or {@code creationDate}.
+     * @param after the cursor of the entity the stream starts after, absent or empty to start with the first post.
+     * @param lastEventId the id of the last event received by a reconnecting client, used when there is no {@code after} cursor.
+     * @return the post events, followed by the count event.
+     */
+    @GetMapping(value = "/posts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> getAllPostsAsEventStream(
+        Sort sort,
+        @RequestParam(name = KeysetPagination.AFTER_PARAMETER, required = false) String after,
+        @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        log.debug("REST request to stream Posts as events");
+        String cursor = after != null ? after : lastEventId;
+        Keyset keyset = KEYSET_PAGINATION.parseKeyset(sort, cursor == null ? "" : cursor, null);
+        Flux<ServerSentEvent<Object>> postEvents = postService
+            .findAll(keyset, 0)
+            .map(post -> ServerSentEvent.<Object>builder(post).event(ENTITY_NAME).id(KEYSET_PAGINATION.getCursor(keyset, post)).build());
+        Mono<ServerSentEvent<Object>> countEvent = postService
+            .countAll()
+            .map(total -> ServerSentEvent.<Object>builder(total).event("count").build());
+        return Flux.mergeSequential(postEvents, countEvent);
+    }
+
+    /**
+     * {@code GET  /posts/live} : follow the posts as they are created.
+     * <p>
+     * Each post is sent as a {@code post} event when it is created, until the client disconnects. A client reconnecting with
+     * the id of the last received event gets the posts created meanwhile, as long as they are still in the replay buffer.
+     * SSE comment lines are sent as heartbeats every few seconds to keep the connection open.
+     *
+     * @param lastEventId the id of the last event received by a reconnecting client.
+     * @return the post events.
+     */
+    @GetMapping(value = "/posts/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Post>> getLivePosts(
+        @RequestHeader(name = ServerSentEvents.LAST_EVENT_ID_HEADER, required = false) String lastEventId
+    ) {
+        log.debug("REST request to follow the live Posts");
+        return ServerSentEvents.withHeartbeat(
+            postService
+                .findLive(lastEventId)
+                .map(event -> ServerSentEvent.builder(event.getEntity()).event(ENTITY_NAME).id(event.getId()).build())
+        );
+    }
+
     /**
      * {@code GET  /posts/:id} : get the "id" post.
      *
@@ -228,4 +381,23 @@ public class PostResource {
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
     }
+
+    /**
+     * {@code POST  /posts/_bulk} : Create, update and delete posts in bulk.
+     * <p>
+     * The operations are sent as a JSON array or as newline delimited JSON, and are written in chunks as they are received.
+     * Each operation gets its own result, with the status a single create, update or delete request would have returned.
+     *
+     * @param operations the operations.
+     * @return the {@link Flux} of the results, in the order of the operations.
+     */
+    @PostMapping(
+        value = "/posts/_bulk",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE },
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Flux<BulkResultDTO> bulkPosts(@RequestBody Flux<BulkOperationDTO<Post>> operations) {
+        log.debug("REST request to bulk write Posts");
+        return postService.bulk(operations);
+    }
 }
@@ -2,6 +2,7 @@ package com.qacm.test.web.rest;
 
 import com.qacm.test.service.UserService;
 import com.qacm.test.service.dto.UserDTO;
+import com.qacm.test.web.rest.util.SlicePagination;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +34,8 @@ public class PublicUserResource {
 
     /**
      * {@code GET /users} : get all users with only the public informations - calling this are allowed for anyone.
+     * <p>
+     * When the {@code X-Total-Count: skip} request header is given, the users are not counted.
      *
      * @param request a {@link ServerHttpRequest} request.
      * @param pageable the pagination information.
@@ -44,6 +47,18 @@ public class PublicUserResource {
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get all public User names");
+        if (SlicePagination.isTotalCountSkipped(request)) {
+            return userService
+                .getAllPublicUsers(SlicePagination.lookahead(pageable))
+                .collectList()
+                .map(rows -> SlicePagination.toSlice(rows, pageable))
+                .map(slice ->
+                    ResponseEntity
+                        .ok()
+                        .headers(SlicePagination.generateSliceHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                        .body(Flux.fromIterable(slice.getContent()))
+                );
+        }
 
         return userService
             .countManagedUsers()
@@ -0,0 +1,266 @@
+package com.qacm.test.web.rest.util;
+
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Keyset (cursor) pagination of a REST resource.
+ * <p>
+ * Clients opt in by sending an {@code after} or {@code before} cursor (an empty {@code after} cursor selects the first page).
+ * Cursors are opaque to clients: they encode the sort value and the id of the boundary entity of a page.
+ * Pagination links follow <a href="https://tools.ietf.org/html/rfc5988">RFC 5988 (Link header)</a>, like
+ * {@link tech.jhipster.web.util.PaginationUtil}, but point to cursors instead of page numbers.
+ *
+ * @param <T> the type of the paginated entities.
+ */
+public final class KeysetPagination<T> {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    public static final String BEFORE_PARAMETER = "before";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private static final char SEPARATOR = '|';
+
+    private final String entityName;
+
+    private final Function<T, String> idGetter;
+
+    private final List<Property<T>> properties;
+
+    /**
+     * Create the keyset pagination of an entity.
+     *
+     * @param entityName the entity name, used in error messages.
+     * @param idGetter the entity id getter.
+     * @param properties the properties, besides {@code id}, that pages can be sorted by.
+     */
+    @SafeVarargs
+    public KeysetPagination(String entityName, Function<T, String> idGetter, Property<T>... properties) {
+        this.entityName = entityName;
+        this.idGetter = idGetter;
+        this.properties = List.of(properties);
+    }
+
+    /**
+     * Check whether a request uses keyset pagination.
+     *
+     * @param after the {@code after} cursor parameter.
+     * @param before the {@code before} cursor parameter.
+     * @return true if one of the cursors is present.
+     */
+    public static boolean isKeysetRequest(String after, String before) {
+        return after != null || before != null;
+    }
+
+    /**
+     * Parse the keyset of a request.
+     * <p>
+     * The sort must be either empty, by {@code id}, or by one of the supported properties optionally followed by {@code id};
+     * the {@code id} tie-breaker always follows the direction of the first sort property.
+     *
+     * @param sort the requested sort.
+     * @param after the {@code after} cursor, or {@code null}.
+     * @param before the {@code before} cursor, or {@code null}.
+     * @return the keyset.
+     * @throws BadRequestAlertException if the sort is not supported or the cursor is invalid.
+     */
+    public Keyset parseKeyset(Sort sort, String after, String before) {
+        if (after != null && before != null) {
+            throw new BadRequestAlertException("Only one of the 'after' and 'before' cursors can be used", entityName, "cursorinvalid");
+        }
+        Property<T> property = null;
+        Sort.Direction direction = Sort.Direction.ASC;
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (orders.hasNext()) {
+            Sort.Order order = orders.next();
+            direction = order.getDirection();
+            if (!Keyset.ID_PROPERTY.equals(order.getProperty())) {
+                property = findProperty(order.getProperty());
+                if (orders.hasNext() && !Keyset.ID_PROPERTY.equals(orders.next().getProperty())) {
+                    throw unsupportedSort(sort);
+                }
+            }
+            if (orders.hasNext()) {
+                throw unsupportedSort(sort);
+            }
+        }
+        String propertyName = property != null ? property.getName() : null;
+        if (after != null && after.isEmpty()) {
+            return Keyset.first(propertyName, direction);
+        }
+        String decoded = decode(after != null ? after : before);
+        int separator = decoded.lastIndexOf(SEPARATOR);
+        if (separator < 0 || separator == decoded.length() - 1) {
+            throw invalidCursor();
+        }
+        String id = decoded.substring(separator + 1);
+        Object value = null;
+        if (property != null && separator > 0) {
+            try {
+                value = property.parse(decoded.substring(0, separator));
+            } catch (RuntimeException e) {
+                throw invalidCursor();
+            }
+        }
+        if (after != null) {
+            return Keyset.after(propertyName, direction, value, id);
+        }
+        return Keyset.before(propertyName, direction, value, id);
+    }
+
+    /**
+     * Get the content of a page.
+     *
+     * @param keyset the keyset of the page.
+     * @param rows the entities fetched with a limit of {@code size + 1}, in query order.
+     * @param size the page size.
+     * @return the entities of the page, in the requested order.
+     */
+    public List<T> getContent(Keyset keyset, List<T> rows, int size) {
+        List<T> content = rows.size() > size ? rows.subList(0, size) : rows;
+        if (keyset.isBackward()) {
+            content = new ArrayList<>(content);
+            Collections.reverse(content);
+        }
+        return content;
+    }
+
+    /**
+     * Generate the pagination headers of a page.
+     *
+     * @param uriBuilder the URI builder of the request.
+     * @param keyset the keyset of the page.
+     * @param rows the entities fetched with a limit of {@code size + 1}, in query order.
+     * @param size the page size.
+     * @return the {@link HttpHeaders} with the {@code Link} header.
+     */
+    public HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Keyset keyset, List<T> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = getContent(keyset, rows, size);
+        List<String> links = new ArrayList<>();
+        if (!content.isEmpty()) {
+            boolean hasNext = keyset.isBackward() || hasMore;
+            boolean hasPrev = keyset.isBackward() ? hasMore : !keyset.isFirst();
+            if (hasNext) {
+                links.add(link(uriBuilder, AFTER_PARAMETER, getCursor(keyset, content.get(content.size() - 1)), "next"));
+            }
+            if (hasPrev) {
+                links.add(link(uriBuilder, BEFORE_PARAMETER, getCursor(keyset, content.get(0)), "prev"));
+            }
+        }
+        links.add(link(uriBuilder, AFTER_PARAMETER, "", "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    /**
+     * Get the cursor of an entity.
+     *
+     * @param keyset the keyset of the page containing the entity.
+     * @param entity the entity.
+     * @return the cursor, to be used as {@code after} or {@code before} parameter.
+     */
+    public String getCursor(Keyset keyset, T entity) {
+        String value = "";
+        if (keyset.getProperty() != null) {
+            value = Objects.toString(findProperty(keyset.getProperty()).getValue(entity), "");
+        }
+        String cursor = value + SEPARATOR + idGetter.apply(entity);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String link(UriComponentsBuilder uriBuilder, String parameter, String cursor, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page")
+            .replaceQueryParam(AFTER_PARAMETER)
+            .replaceQueryParam(BEFORE_PARAMETER)
+            .replaceQueryParam(parameter, cursor)
+            .toUriString();
+        return String.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+
+    private String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private Property<T> findProperty(String name) {
+        return properties
+            .stream()
+            .filter(property -> property.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() ->
+                new BadRequestAlertException("Cursor pagination does not support sorting by " + name, entityName, "sortunsupported")
+            );
+    }
+
+    private BadRequestAlertException unsupportedSort(Sort sort) {
+        return new BadRequestAlertException("Cursor pagination does not support sorting by " + sort, entityName, "sortunsupported");
+    }
+
+    private BadRequestAlertException invalidCursor() {
+        return new BadRequestAlertException("Invalid pagination cursor", entityName, "cursorinvalid");
+    }
+
+    /**
+     * A property that keyset pages can be sorted by.
+     *
+     * @param <T> the type of the paginated entities.
+     */
+    public static final class Property<T> {
+
+        private final String name;
+
+        private final Function<String, ?> parser;
+
+        private final Function<T, ?> getter;
+
+        private Property(String name, Function<String, ?> parser, Function<T, ?> getter) {
+            this.name = name;
+            this.parser = parser;
+            this.getter = getter;
+        }
+
+        /**
+         * Create a sort property.
+         *
+         * @param name the property name.
+         * @param parser the parser of the property values written in cursors with {@link Object#toString()}.
+         * @param getter the property getter.
+         * @param <T> the type of the paginated entities.
+         * @return the property.
+         */
+        public static <T> Property<T> of(String name, Function<String, ?> parser, Function<T, ?> getter) {
+            return new Property<>(name, parser, getter);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        Object parse(String value) {
+            return parser.apply(value);
+        }
+
+        Object getValue(T entity) {
+            return getter.apply(entity);
+        }
+    }
+}
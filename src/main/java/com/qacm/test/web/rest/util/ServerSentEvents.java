@@ -0,0 +1,38 @@
+package com.qacm.test.web.rest.util;
+
+import java.time.Duration;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * Utility class for long-lived server-sent event streams.
+ */
+public final class ServerSentEvents {
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private ServerSentEvents() {}
+
+    /**
+     * Interleave SSE comment lines sent as heartbeats with a stream, so that proxies do not close it while it is idle and the
+     * client notices when the connection is lost. The first heartbeat is sent right away, committing the response before the
+     * first event.
+     *
+     * @param events the events.
+     * @param <T> the type of the event data.
+     * @return the events and the heartbeat comment lines, completing with the events.
+     */
+    public static <T> Flux<ServerSentEvent<T>> withHeartbeat(Flux<ServerSentEvent<T>> events) {
+        return events.publish(shared ->
+            Flux.merge(
+                shared,
+                Flux
+                    .interval(Duration.ZERO, HEARTBEAT_INTERVAL)
+                    .map(tick -> ServerSentEvent.<T>builder().comment("").build())
+                    .takeUntilOther(shared.then())
+            )
+        );
+    }
+}
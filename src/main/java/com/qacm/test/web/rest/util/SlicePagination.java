@@ -0,0 +1,111 @@
+package com.qacm.test.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Pagination without total count.
+ * <p>
+ * Clients that only need to know whether there is a next page send the {@code X-Total-Count: skip} request header: the page is
+ * then fetched with one extra entity instead of counting the whole collection, and the {@code Link} header has no {@code last}
+ * link.
+ */
+public final class SlicePagination {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    public static final String SKIP_TOTAL_COUNT = "skip";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private SlicePagination() {}
+
+    /**
+     * Check whether a request opts out of the total count.
+     *
+     * @param request the request.
+     * @return true if the {@code X-Total-Count} request header is {@code skip}.
+     */
+    public static boolean isTotalCountSkipped(ServerHttpRequest request) {
+        return SKIP_TOTAL_COUNT.equalsIgnoreCase(request.getHeaders().getFirst(TOTAL_COUNT_HEADER));
+    }
+
+    /**
+     * Get the pagination information of a page followed by one extra entity.
+     *
+     * @param pageable the pagination information.
+     * @return the pagination information with the same offset, and a size increased by one.
+     */
+    public static Pageable lookahead(Pageable pageable) {
+        return new LookaheadPageRequest(pageable);
+    }
+
+    /**
+     * Get the slice of a page.
+     *
+     * @param rows the entities fetched with the {@link #lookahead(Pageable)} pagination information.
+     * @param pageable the pagination information.
+     * @param <T> the type of the entities.
+     * @return the slice.
+     */
+    public static <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+        int size = pageable.getPageSize();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    /**
+     * Generate the pagination headers of a slice.
+     *
+     * @param uriBuilder the URI builder of the request.
+     * @param slice the slice.
+     * @param <T> the type of the entities.
+     * @return the {@link HttpHeaders} with the {@code Link} header.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(link(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(link(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        links.add(link(uriBuilder, 0, pageSize, "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder.replaceQueryParam("page", pageNumber).replaceQueryParam("size", pageSize).toUriString();
+        return String.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+
+    private static final class LookaheadPageRequest extends PageRequest {
+
+        private static final long serialVersionUID = 1L;
+
+        private LookaheadPageRequest(Pageable pageable) {
+            super(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        }
+
+        @Override
+        public int getPageSize() {
+            return super.getPageSize() + 1;
+        }
+
+        @Override
+        public long getOffset() {
+            return (long) getPageNumber() * super.getPageSize();
+        }
+    }
+}
@@ -6,10 +6,17 @@ export interface IComment {
   text?: string | null;
   creaionDate?: dayjs.Dayjs;
   post?: IPost;
+  version?: number | null;
 }
 
 export class Comment implements IComment {
-  constructor(public id?: string, public text?: string | null, public creaionDate?: dayjs.Dayjs, public post?: IPost) {}
+  constructor(
+    public id?: string,
+    public text?: string | null,
+    public creaionDate?: dayjs.Dayjs,
+    public post?: IPost,
+    public version?: number | null
+  ) {}
 }
 
 export function getCommentIdentifier(comment: IComment): string | undefined {
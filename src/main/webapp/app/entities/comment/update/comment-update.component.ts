@@ -24,6 +24,7 @@ export class CommentUpdateComponent implements OnInit {
     text: [],
     creaionDate: [null, [Validators.required]],
     post: [null, Validators.required],
+    version: [],
   });
 
   constructor(
@@ -84,6 +85,7 @@ export class CommentUpdateComponent implements OnInit {
       text: comment.text,
       creaionDate: comment.creaionDate,
       post: comment.post,
+      version: comment.version,
     });
 
     this.postsSharedCollection = this.postService.addPostToCollectionIfMissing(this.postsSharedCollection, comment.post);
@@ -104,6 +106,8 @@ export class CommentUpdateComponent implements OnInit {
       text: this.editForm.get(['text'])!.value,
       creaionDate: this.editForm.get(['creaionDate'])!.value,
       post: this.editForm.get(['post'])!.value,
+      // sent back so that an update of a comment modified since it was loaded is rejected
+      version: this.editForm.get(['version'])!.value,
     };
   }
 }
@@ -7,6 +7,7 @@ export interface IPost {
   required?: string | null;
   creationDate?: dayjs.Dayjs | null;
   creator?: IUser;
+  version?: number | null;
 }
 
 export class Post implements IPost {
@@ -15,7 +16,8 @@ export class Post implements IPost {
     public title?: string | null,
     public required?: string | null,
     public creationDate?: dayjs.Dayjs | null,
-    public creator?: IUser
+    public creator?: IUser,
+    public version?: number | null
   ) {}
 }
 
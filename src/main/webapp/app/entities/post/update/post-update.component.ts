@@ -25,6 +25,7 @@ export class PostUpdateComponent implements OnInit {
     required: [],
     creationDate: [],
     creator: [null, Validators.required],
+    version: [],
   });
 
   constructor(
@@ -86,6 +87,7 @@ export class PostUpdateComponent implements OnInit {
       required: post.required,
       creationDate: post.creationDate,
       creator: post.creator,
+      version: post.version,
     });
 
     this.usersSharedCollection = this.userService.addUserToCollectionIfMissing(this.usersSharedCollection, post.creator);
@@ -107,6 +109,8 @@ export class PostUpdateComponent implements OnInit {
       required: this.editForm.get(['required'])!.value,
       creationDate: this.editForm.get(['creationDate'])!.value,
       creator: this.editForm.get(['creator'])!.value,
+      // sent back so that an update of a post modified since it was loaded is rejected
+      version: this.editForm.get(['version'])!.value,
     };
   }
 }
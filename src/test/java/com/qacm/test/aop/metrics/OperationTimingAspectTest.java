@@ -0,0 +1,110 @@
+package com.qacm.test.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link OperationTimingAspect}.
+ */
+class OperationTimingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final OperationTimingAspect aspect = new OperationTimingAspect(meterRegistry);
+
+    private final ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+
+    @BeforeEach
+    void init() throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(TimedService.class.getMethod("operation"));
+        when(joinPoint.getSignature()).thenReturn(signature);
+    }
+
+    @Test
+    void testMonoIsTimedFromItsSubscription() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.delay(Duration.ofMillis(50)));
+
+        Mono<?> result = (Mono<?>) aspect.timeOperation(joinPoint);
+        // the time between the assembly and the subscription is not recorded
+        Thread.sleep(500);
+        result.block();
+
+        Timer timer = timer("success");
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isBetween(50.0, 500.0);
+    }
+
+    @Test
+    void testFluxIsTimedForEachSubscriber() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Flux.just(1, 2, 3));
+
+        Flux<?> result = (Flux<?>) aspect.timeOperation(joinPoint);
+        assertThat(result.collectList().block()).isEqualTo(List.of(1, 2, 3));
+        result.blockLast();
+
+        assertThat(timer("success").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailedMonoIsTimedAsError() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.error(new IllegalStateException("failed")));
+
+        Mono<?> result = (Mono<?>) aspect.timeOperation(joinPoint);
+        assertThatThrownBy(result::block).hasMessage("failed");
+
+        assertThat(timer("error").count()).isEqualTo(1);
+        assertThat(timer("success").count()).isZero();
+    }
+
+    @Test
+    void testCancelledMonoIsTimedAsCancel() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.never());
+
+        Disposable subscription = ((Mono<?>) aspect.timeOperation(joinPoint)).subscribe();
+        subscription.dispose();
+
+        assertThat(timer("cancel").count()).isEqualTo(1);
+        assertThat(timer("success").count()).isZero();
+    }
+
+    @Test
+    void testThrowingOperationIsTimedAsError() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("invalid"));
+
+        assertThatThrownBy(() -> aspect.timeOperation(joinPoint)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(timer("error").count()).isEqualTo(1);
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry
+            .get(OperationTimingAspect.METRIC_NAME)
+            .tag("class", "TimedService")
+            .tag("method", "operation")
+            .tag("outcome", outcome)
+            .timer();
+    }
+
+    static class TimedService {
+
+        public Mono<Void> operation() {
+            return Mono.empty();
+        }
+    }
+}
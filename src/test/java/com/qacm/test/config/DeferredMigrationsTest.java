@@ -0,0 +1,74 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Test class for the {@link DeferredMigrations}, the readiness health indicator of the "faststart" profile.
+ */
+class DeferredMigrationsTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final Scheduler blockingScheduler = Schedulers.newBoundedElastic(1, 1, "test-migrations");
+
+    @AfterEach
+    void destroy() {
+        blockingScheduler.dispose();
+    }
+
+    @Test
+    void testInstanceIsReadyOnceTheMigrationsAreDone() throws InterruptedException {
+        CountDownLatch migrationsRunning = new CountDownLatch(1);
+        CountDownLatch migrationsDone = new CountDownLatch(1);
+        DeferredMigrations deferredMigrations = new DeferredMigrations(
+            () -> {
+                migrationsRunning.countDown();
+                try {
+                    migrationsDone.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            },
+            blockingScheduler
+        );
+        assertThat(deferredMigrations.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        deferredMigrations.start();
+        migrationsRunning.await();
+        assertThat(deferredMigrations.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        migrationsDone.countDown();
+        assertThat(awaitStatusChange(deferredMigrations, Status.OUT_OF_SERVICE)).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void testInstanceIsDownWhenTheMigrationsFail() throws InterruptedException {
+        DeferredMigrations deferredMigrations = new DeferredMigrations(
+            () -> {
+                throw new IllegalStateException("migration failed");
+            },
+            blockingScheduler
+        );
+
+        deferredMigrations.start();
+
+        assertThat(awaitStatusChange(deferredMigrations, Status.OUT_OF_SERVICE)).isEqualTo(Status.DOWN);
+    }
+
+    private static Status awaitStatusChange(DeferredMigrations deferredMigrations, Status status) throws InterruptedException {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (deferredMigrations.health().getStatus().equals(status) && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+        return deferredMigrations.health().getStatus();
+    }
+}
@@ -0,0 +1,72 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingMethod;
+
+/**
+ * Test class for the {@link EventLoopGuard}.
+ * <p>
+ * The tests install BlockHound to fail the blocking calls, so the callback of the guard is called directly, on a Netty event
+ * loop where it must not block either.
+ */
+class EventLoopGuardTest {
+
+    private static final BlockingMethod SLEEP = new BlockingMethod("java.lang.Thread", "sleep", Modifier.PUBLIC | Modifier.STATIC);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EventLoopGuard eventLoopGuard = new EventLoopGuard(
+        meterRegistry,
+        Duration.ofMinutes(1),
+        // the pending reports are only logged by the tests
+        Duration.ofHours(1)
+    );
+
+    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+
+    @AfterEach
+    void destroy() {
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        eventLoopGuard.close();
+    }
+
+    @Test
+    void testBlockingCallOnNettyThreadIsCountedAndReported() throws Exception {
+        AtomicReference<Thread> eventLoopThread = new AtomicReference<>();
+        eventLoopGroup
+            .submit(() -> {
+                eventLoopThread.set(Thread.currentThread());
+                eventLoopGuard.onBlockingCall(SLEEP);
+            })
+            .get();
+
+        assertThat(eventLoopThread.get()).isInstanceOf(FastThreadLocalThread.class);
+        assertThat(meterRegistry.get("event.loop.blocking.calls").counter().count()).isEqualTo(1);
+        assertThat(eventLoopGuard.report()).isEqualTo(1);
+    }
+
+    @Test
+    void testBlockingCallsOfAMethodAreReportedOncePerInterval() throws Exception {
+        eventLoopGroup
+            .submit(() -> {
+                eventLoopGuard.onBlockingCall(SLEEP);
+                eventLoopGuard.onBlockingCall(SLEEP);
+            })
+            .get();
+
+        assertThat(meterRegistry.get("event.loop.blocking.calls").counter().count()).isEqualTo(2);
+        assertThat(eventLoopGuard.report()).isEqualTo(1);
+        assertThat(eventLoopGuard.report()).isZero();
+    }
+}
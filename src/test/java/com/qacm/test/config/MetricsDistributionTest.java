@@ -0,0 +1,63 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
+import org.springframework.boot.actuate.autoconfigure.metrics.PropertiesMeterFilter;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Test class checking which meters publish percentiles and histograms with the {@code management.metrics.distribution}
+ * configuration of the application.
+ * <p>
+ * The main {@code application.yml} is read from the sources, as the test one replaces it on the classpath.
+ */
+class MetricsDistributionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void init() throws IOException {
+        Binder binder = new Binder(
+            ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new FileSystemResource("src/main/resources/config/application.yml"))
+            )
+        );
+        MetricsProperties metricsProperties = binder.bind("management.metrics", MetricsProperties.class).get();
+        meterRegistry.config().meterFilter(new PropertiesMeterFilter(metricsProperties));
+    }
+
+    @Test
+    void testLatencyTimersPublishPercentilesAndHistograms() {
+        for (String name : new String[] { "http.server.requests", "app.operation", "mongodb.driver.commands" }) {
+            HistogramSnapshot snapshot = record(name);
+            assertThat(snapshot.percentileValues()).as(name).hasSize(4);
+            assertThat(snapshot.histogramCounts()).as(name).isNotEmpty();
+        }
+    }
+
+    @Test
+    void testOtherTimersDoNotPublishPercentilesOrHistograms() {
+        for (String name : new String[] { "jvm.gc.pause", "http.client.requests", "spring.security.filterchains" }) {
+            HistogramSnapshot snapshot = record(name);
+            assertThat(snapshot.percentileValues()).as(name).isEmpty();
+            assertThat(snapshot.histogramCounts()).as(name).isEmpty();
+        }
+    }
+
+    private HistogramSnapshot record(String name) {
+        Timer timer = Timer.builder(name).register(meterRegistry);
+        timer.record(Duration.ofMillis(20));
+        return timer.takeSnapshot();
+    }
+}
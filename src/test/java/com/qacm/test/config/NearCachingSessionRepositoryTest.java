@@ -0,0 +1,122 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.qacm.test.service.CacheInvalidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.session.data.mongo.JdkMongoSessionConverter;
+import org.springframework.session.data.mongo.MongoSession;
+import org.springframework.session.data.mongo.ReactiveMongoSessionRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link NearCachingSessionRepository}.
+ */
+class NearCachingSessionRepositoryTest {
+
+    private final ReactiveMongoSessionRepository delegate = mock(ReactiveMongoSessionRepository.class);
+
+    private final CacheInvalidationService cacheInvalidationService = mock(CacheInvalidationService.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NearCachingSessionRepository sessionRepository;
+
+    @BeforeEach
+    void init() {
+        when(delegate.save(any(MongoSession.class))).thenReturn(Mono.empty());
+        when(delegate.findById(anyString())).thenReturn(Mono.empty());
+        when(delegate.deleteById(anyString())).thenReturn(Mono.empty());
+        JdkMongoSessionConverter converter = new JdkMongoSessionConverter(
+            SessionSerialization.serializer(),
+            SessionSerialization.deserializer(getClass().getClassLoader()),
+            Duration.ofMinutes(30)
+        );
+        sessionRepository =
+            new NearCachingSessionRepository(
+                delegate,
+                converter,
+                new ApplicationProperties().getSession(),
+                cacheInvalidationService,
+                meterRegistry
+            );
+    }
+
+    @Test
+    void testUnchangedSessionIsNotWrittenAgainWithinTheTouchInterval() {
+        MongoSession session = new MongoSession();
+        session.setAttribute("attribute", "value");
+        sessionRepository.save(session).block();
+
+        session.setLastAccessedTime(Instant.now().plusSeconds(1));
+        sessionRepository.save(session).block();
+        verify(delegate, times(1)).save(session);
+        assertThat(meterRegistry.counter("session.saves", "result", "skipped").count()).isEqualTo(1);
+
+        session.setAttribute("attribute", "changed value");
+        sessionRepository.save(session).block();
+        verify(delegate, times(2)).save(session);
+        assertThat(meterRegistry.counter("session.saves", "result", "written").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testCachedSessionIsServedUntilInvalidated() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<String>> evictor = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationService).register(eq(NearCachingSessionRepository.COLLECTION_NAME), evictor.capture(), any());
+        MongoSession session = new MongoSession();
+        session.setAttribute("attribute", "value");
+        sessionRepository.save(session).block();
+
+        MongoSession cachedSession = sessionRepository.findById(session.getId()).block();
+        assertThat(cachedSession).isNotSameAs(session);
+        assertThat(cachedSession.<String>getAttribute("attribute")).isEqualTo("value");
+        verify(delegate, never()).findById(anyString());
+
+        // the other instances are sent the hash of the session id, not the id itself
+        String key = NearCachingSessionRepository.hash(session.getId());
+        verify(cacheInvalidationService).publish(NearCachingSessionRepository.COLLECTION_NAME, key);
+        verify(cacheInvalidationService, never()).publish(NearCachingSessionRepository.COLLECTION_NAME, session.getId());
+
+        evictor.getValue().accept(key);
+        sessionRepository.findById(session.getId()).block();
+        verify(delegate, times(1)).findById(session.getId());
+    }
+
+    @Test
+    void testExpiredSessionIsNotServedFromTheCache() {
+        MongoSession session = new MongoSession();
+        session.setMaxInactiveInterval(Duration.ofSeconds(1));
+        session.setLastAccessedTime(Instant.now().minusSeconds(60));
+        sessionRepository.save(session).block();
+
+        assertThat(sessionRepository.findById(session.getId()).block()).isNull();
+        verify(delegate, times(1)).findById(session.getId());
+    }
+
+    @Test
+    void testDeletedSessionIsInvalidated() {
+        MongoSession session = new MongoSession();
+        sessionRepository.save(session).block();
+        sessionRepository.deleteById(session.getId()).block();
+
+        sessionRepository.findById(session.getId()).block();
+        verify(delegate, times(1)).findById(session.getId());
+        verify(cacheInvalidationService, times(2))
+            .publish(NearCachingSessionRepository.COLLECTION_NAME, NearCachingSessionRepository.hash(session.getId()));
+    }
+}
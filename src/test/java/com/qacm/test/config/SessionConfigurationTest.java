@@ -0,0 +1,74 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.qacm.test.service.CacheInvalidationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.data.mongo.ReactiveMongoSessionRepository;
+
+/**
+ * Test class for the {@link SessionConfiguration}.
+ */
+class SessionConfigurationTest {
+
+    private final MongoOperations blockingMongoOperations = mock(MongoOperations.class);
+
+    private final IndexOperations indexOperations = mock(IndexOperations.class);
+
+    private final CacheInvalidationService cacheInvalidationService = mock(CacheInvalidationService.class);
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+        .withUserConfiguration(SessionConfiguration.class)
+        .withBean(ReactiveMongoOperations.class, () -> mock(ReactiveMongoOperations.class))
+        .withBean(MongoOperations.class, () -> blockingMongoOperations)
+        .withBean(ApplicationProperties.class, ApplicationProperties::new)
+        .withBean(CacheInvalidationService.class, () -> cacheInvalidationService)
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @BeforeEach
+    void init() {
+        when(blockingMongoOperations.indexOps(NearCachingSessionRepository.COLLECTION_NAME)).thenReturn(indexOperations);
+    }
+
+    @Test
+    void testSessionsAreNotStoredInMongoByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(ReactiveSessionRepository.class));
+    }
+
+    @Test
+    void testSessionsAreReadFromMongoWithoutCacheInvalidationTransport() {
+        when(cacheInvalidationService.isDistributed()).thenReturn(false);
+
+        contextRunner
+            .withPropertyValues("application.session.store=mongo")
+            .run(context -> {
+                assertThat(context).getBean(ReactiveSessionRepository.class).isInstanceOf(ReactiveMongoSessionRepository.class);
+                // the sessions expire with a TTL index
+                verify(indexOperations).ensureIndex(any(IndexDefinition.class));
+            });
+    }
+
+    @Test
+    void testSessionsAreKeptInMemoryWithCacheInvalidationTransport() {
+        when(cacheInvalidationService.isDistributed()).thenReturn(true);
+
+        contextRunner
+            .withPropertyValues("application.session.store=mongo")
+            .run(context ->
+                assertThat(context).getBean(ReactiveSessionRepository.class).isInstanceOf(NearCachingSessionRepository.class)
+            );
+    }
+}
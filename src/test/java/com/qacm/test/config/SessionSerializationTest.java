@@ -0,0 +1,37 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * Test class for the {@link SessionSerialization}.
+ */
+class SessionSerializationTest {
+
+    @Test
+    void testAttributesAreCompressedAndRestored() {
+        Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            attributes.put("attribute" + i, "value of the attribute " + i);
+        }
+
+        byte[] bytes = SessionSerialization.serializer().convert(attributes);
+
+        assertThat(bytes.length).isLessThan(new SerializingConverter().convert(attributes).length / 2);
+        assertThat(SessionSerialization.deserializer(getClass().getClassLoader()).convert(bytes)).isEqualTo(attributes);
+    }
+
+    @Test
+    void testCorruptedAttributesAreRejected() {
+        byte[] bytes = { 1, 2, 3 };
+
+        assertThatThrownBy(() -> SessionSerialization.deserializer(getClass().getClassLoader()).convert(bytes))
+            .isInstanceOf(SerializationFailedException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.qacm.test.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Test class for the {@link SharedSchedulerMetrics}.
+ * <p>
+ * The shared scheduler itself is not used, as it lives as long as the JVM: schedulers named like it are decorated alike.
+ */
+class SharedSchedulerMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void init() {
+        assertThat(SharedSchedulerMetrics.install(meterRegistry)).isTrue();
+    }
+
+    @AfterEach
+    void destroy() {
+        SharedSchedulerMetrics.uninstall();
+    }
+
+    @Test
+    void testSharedSchedulerTasksAreTimedAndDelayedTasksStillRun() {
+        Scheduler scheduler = Schedulers.newBoundedElastic(1, 10, Schedulers.BOUNDED_ELASTIC);
+        try {
+            Mono.fromCallable(() -> 1).subscribeOn(scheduler).block();
+            assertThat(Mono.delay(Duration.ofMillis(10), scheduler).block()).isZero();
+
+            assertThat(meterRegistry.get("executor").tag("name", Schedulers.BOUNDED_ELASTIC).timer().count()).isPositive();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void testOtherSchedulersAreNotTimed() {
+        Scheduler scheduler = Schedulers.newBoundedElastic(1, 10, "other");
+        try {
+            Mono.fromCallable(() -> 1).subscribeOn(scheduler).block();
+
+            assertThat(meterRegistry.find("executor").timer()).isNull();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void testDecoratorIsOnlyInstalledOnce() {
+        assertThat(SharedSchedulerMetrics.install(new SimpleMeterRegistry())).isFalse();
+    }
+}
@@ -0,0 +1,41 @@
+package com.qacm.test.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qacm.test.domain.Post;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class AuditingEntityCallbackTest {
+
+    private final AuditingEntityCallback callback = new AuditingEntityCallback(() -> Mono.just("auditor"));
+
+    @Test
+    void newEntityIsAudited() {
+        Post post = new Post();
+        assertThat(post.getCreatedDate()).isNull();
+
+        Mono.from(callback.onBeforeConvert(post, "post")).block();
+
+        assertThat(post.getCreatedBy()).isEqualTo("auditor");
+        assertThat(post.getCreatedDate()).isNotNull();
+        assertThat(post.getLastModifiedBy()).isEqualTo("auditor");
+        assertThat(post.getLastModifiedDate()).isEqualTo(post.getCreatedDate());
+    }
+
+    @Test
+    void creationOfSavedEntityIsKept() {
+        Instant createdDate = Instant.parse("2020-01-01T00:00:00Z");
+        Post post = new Post();
+        post.setCreatedBy("creator");
+        post.setCreatedDate(createdDate);
+
+        Mono.from(callback.onBeforeConvert(post, "post")).block();
+
+        assertThat(post.getCreatedBy()).isEqualTo("creator");
+        assertThat(post.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(post.getLastModifiedBy()).isEqualTo("auditor");
+        assertThat(post.getLastModifiedDate()).isAfter(createdDate);
+    }
+}
@@ -0,0 +1,37 @@
+package com.qacm.test.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.qacm.test.IntegrationTest;
+import com.qacm.test.domain.Comment;
+import com.qacm.test.domain.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Integration tests for {@link SortIndexes}, against the indexes built by the migrations.
+ */
+@IntegrationTest
+class SortIndexesIT {
+
+    @Autowired
+    private SortIndexes sortIndexes;
+
+    @Test
+    void testSupportedSorts() {
+        assertThat(sortIndexes.isSupported(Post.class, Sort.unsorted()).block()).isTrue();
+        assertThat(sortIndexes.isSupported(Post.class, Sort.by(Sort.Direction.DESC, "id")).block()).isTrue();
+        assertThat(sortIndexes.isSupported(Post.class, Sort.by(Sort.Direction.DESC, "creationDate").and(Sort.by("id"))).block()).isTrue();
+        assertThat(sortIndexes.isSupported(Post.class, Sort.by(Sort.Direction.DESC, "creationDate", "id")).block()).isTrue();
+        assertThat(sortIndexes.isSupported(Post.class, Sort.by("creator.login")).block()).isTrue();
+        assertThat(sortIndexes.isSupported(Comment.class, Sort.by(Sort.Direction.DESC, "post.title").and(Sort.by("id"))).block()).isTrue();
+    }
+
+    @Test
+    void testUnsupportedSorts() {
+        assertThat(sortIndexes.isSupported(Post.class, Sort.by("title", "creationDate")).block()).isFalse();
+        assertThat(sortIndexes.isSupported(Comment.class, Sort.by("post.id", "text")).block()).isFalse();
+        assertThat(sortIndexes.isSupported(Comment.class, Sort.by("unknown")).block()).isFalse();
+    }
+}
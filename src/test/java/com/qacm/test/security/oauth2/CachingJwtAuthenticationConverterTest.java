@@ -0,0 +1,69 @@
+package com.qacm.test.security.oauth2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Test class for the {@link CachingJwtAuthenticationConverter} decorator.
+ */
+class CachingJwtAuthenticationConverterTest {
+
+    @SuppressWarnings("unchecked")
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter = mock(Converter.class);
+
+    private final CachingJwtAuthenticationConverter converter = new CachingJwtAuthenticationConverter(
+        authoritiesConverter,
+        100,
+        new SimpleMeterRegistry()
+    );
+
+    @Test
+    void testAuthoritiesAreExtractedOnceAndAuthenticationsAreNotShared() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        when(authoritiesConverter.convert(jwt)).thenReturn(List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        AbstractAuthenticationToken first = converter.convert(jwt).block();
+        first.setDetails("first request");
+        AbstractAuthenticationToken second = converter.convert(jwt).block();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getDetails()).isNull();
+        assertThat(second.getName()).isEqualTo("test");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        verify(authoritiesConverter, times(1)).convert(jwt);
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        Jwt jwt = jwt("expired-token", Instant.now().minusSeconds(60));
+        when(authoritiesConverter.convert(jwt)).thenReturn(List.of());
+
+        converter.convert(jwt).block();
+        converter.convert(jwt).block();
+        verify(authoritiesConverter, times(2)).convert(jwt);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt
+            .withTokenValue(token)
+            .header("alg", "RS256")
+            .claim("sub", "test")
+            .issuedAt(expiresAt.minusSeconds(300))
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.qacm.test.security.oauth2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link CachingJwtDecoder} decorator.
+ */
+class CachingJwtDecoderTest {
+
+    private final ReactiveJwtDecoder delegate = mock(ReactiveJwtDecoder.class);
+
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, new SimpleMeterRegistry());
+
+    @Test
+    void testTokenIsDecodedOnce() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(Mono.just(jwt));
+
+        assertThat(decoder.decode("token").block()).isSameAs(jwt);
+        assertThat(decoder.decode("token").block()).isSameAs(jwt);
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        Jwt jwt = jwt("expired-token", Instant.now().minusSeconds(60));
+        when(delegate.decode("expired-token")).thenReturn(Mono.just(jwt));
+
+        decoder.decode("expired-token").block();
+        decoder.decode("expired-token").block();
+        verify(delegate, times(2)).decode("expired-token");
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        when(delegate.decode("invalid-token")).thenReturn(Mono.error(new BadJwtException("invalid")));
+
+        assertThatThrownBy(() -> decoder.decode("invalid-token").block()).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("invalid-token").block()).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("invalid-token");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt
+            .withTokenValue(token)
+            .header("alg", "RS256")
+            .claim("sub", "test")
+            .issuedAt(expiresAt.minusSeconds(300))
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
@@ -5,9 +5,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.qacm.test.IntegrationTest;
 import com.qacm.test.config.Constants;
 import com.qacm.test.domain.User;
+import com.qacm.test.repository.AuthorityRepository;
 import com.qacm.test.repository.UserRepository;
 import com.qacm.test.security.AuthoritiesConstants;
 import com.qacm.test.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,9 +19,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -45,9 +49,15 @@ class UserServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private User user;
 
     private Map<String, Object> userDetails;
@@ -138,8 +148,63 @@ class UserServiceIT {
         assertThat(userDTO.getLangKey()).isEqualTo("en");
     }
 
+    @Test
+    void testUnchangedUserDetailsAreNotSynchronizedAgain() {
+        userDetails.put("sub", "unchanged-user");
+        double skippedSyncs = meterRegistry.counter("user.sync", "result", "skipped").count();
+        double performedSyncs = meterRegistry.counter("user.sync", "result", "performed").count();
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        assertThat(userRepository.findOneByLogin("unchanged-user").blockOptional()).isPresent();
+
+        // The same claims are not synchronized to the database again
+        AdminUserDTO userDTO = userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        assertThat(userDTO.getLogin()).isEqualTo("unchanged-user");
+        assertThat(meterRegistry.counter("user.sync", "result", "skipped").count()).isEqualTo(skippedSyncs + 1);
+        assertThat(meterRegistry.counter("user.sync", "result", "performed").count()).isEqualTo(performedSyncs + 1);
+
+        // Changed claims are
+        userDetails.put("given_name", "jane");
+        userDTO = userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        assertThat(userDTO.getFirstName()).isEqualTo("jane");
+        assertThat(userRepository.findOneByLogin("unchanged-user").block().getFirstName()).isEqualTo("jane");
+        assertThat(meterRegistry.counter("user.sync", "result", "performed").count()).isEqualTo(performedSyncs + 2);
+    }
+
+    @Test
+    void testLocallyUpdatedUserIsSynchronizedAgain() {
+        userDetails.put("sub", "locally-updated-user");
+        userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        userService
+            .updateUser("jane", DEFAULT_LASTNAME, DEFAULT_EMAIL, DEFAULT_LANGKEY, DEFAULT_IMAGEURL)
+            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(new TestingAuthenticationToken("locally-updated-user", null)))
+            .block();
+        assertThat(userRepository.findOneByLogin("locally-updated-user").block().getFirstName()).isEqualTo("jane");
+
+        // The same claims are synchronized again once the local user changed
+        double performedSyncs = meterRegistry.counter("user.sync", "result", "performed").count();
+        AdminUserDTO userDTO = userService.getUserFromAuthentication(createMockOAuth2AuthenticationToken(userDetails)).block();
+        assertThat(userDTO.getFirstName()).isEqualTo(DEFAULT_FIRSTNAME);
+        assertThat(userRepository.findOneByLogin("locally-updated-user").block().getFirstName()).isEqualTo(DEFAULT_FIRSTNAME);
+        assertThat(meterRegistry.counter("user.sync", "result", "performed").count()).isEqualTo(performedSyncs + 1);
+    }
+
+    @Test
+    void testNewAuthoritiesAreSaved() {
+        userDetails.put("sub", "new-group-user");
+
+        OAuth2AuthenticationToken authentication = createMockOAuth2AuthenticationToken(userDetails, "ROLE_NEW_GROUP");
+        AdminUserDTO userDTO = userService.getUserFromAuthentication(authentication).block();
+
+        assertThat(userDTO.getAuthorities()).containsExactly("ROLE_NEW_GROUP");
+        assertThat(authorityRepository.findById("ROLE_NEW_GROUP").blockOptional()).isPresent();
+    }
+
     private OAuth2AuthenticationToken createMockOAuth2AuthenticationToken(Map<String, Object> userDetails) {
-        Collection<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
+        return createMockOAuth2AuthenticationToken(userDetails, AuthoritiesConstants.ANONYMOUS);
+    }
+
+    private OAuth2AuthenticationToken createMockOAuth2AuthenticationToken(Map<String, Object> userDetails, String authority) {
+        Collection<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(authority));
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
             "anonymous",
             "anonymous",
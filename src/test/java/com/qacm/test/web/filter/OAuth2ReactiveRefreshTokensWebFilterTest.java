@@ -0,0 +1,153 @@
+package com.qacm.test.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.qacm.test.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.mock.web.server.MockWebSession;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Test class for the {@link OAuth2ReactiveRefreshTokensWebFilter}.
+ */
+class OAuth2ReactiveRefreshTokensWebFilterTest {
+
+    private static final ClientRegistration CLIENT_REGISTRATION = ClientRegistration
+        .withRegistrationId("oidc")
+        .clientId("client")
+        .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+        .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+        .authorizationUri("https://idp/authorize")
+        .tokenUri("https://idp/token")
+        .build();
+
+    private final ReactiveOAuth2AuthorizedClientManager clientManager = mock(ReactiveOAuth2AuthorizedClientManager.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final OAuth2ReactiveRefreshTokensWebFilter filter = new OAuth2ReactiveRefreshTokensWebFilter(
+        clientManager,
+        new ApplicationProperties(),
+        meterRegistry
+    );
+
+    private final MockWebSession session = new MockWebSession();
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    @Test
+    void testFreshTokenIsNotRefreshed() {
+        when(clientManager.authorize(any(OAuth2AuthorizeRequest.class)))
+            .thenReturn(Mono.just(authorizedClient(Instant.now().plus(Duration.ofHours(1)))));
+
+        filter.filter(exchange(), chain).block();
+        filter.filter(exchange(), chain).block();
+
+        verify(clientManager, times(1)).authorize(any(OAuth2AuthorizeRequest.class));
+        assertThat(checks("performed")).isEqualTo(1);
+        assertThat(checks("skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void testTokenIsRefreshedNearItsExpiration() {
+        // the token expires within the refresh window, so every request checks it again
+        when(clientManager.authorize(any(OAuth2AuthorizeRequest.class)))
+            .thenReturn(Mono.just(authorizedClient(Instant.now().plus(Duration.ofSeconds(30)))));
+
+        filter.filter(exchange(), chain).block();
+        filter.filter(exchange(), chain).block();
+
+        verify(clientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+        assertThat(checks("performed")).isEqualTo(2);
+        assertThat(checks("skipped")).isZero();
+    }
+
+    @Test
+    void testConcurrentRequestsShareARefreshThatIsForgottenOnError() {
+        Sinks.One<OAuth2AuthorizedClient> refresh = Sinks.one();
+        when(clientManager.authorize(any(OAuth2AuthorizeRequest.class))).thenReturn(refresh.asMono());
+
+        Mono<Void> first = filter.filter(exchange(), chain).cache();
+        Mono<Void> second = filter.filter(exchange(), chain).cache();
+        first.subscribe(null, e -> {});
+        second.subscribe(null, e -> {});
+
+        verify(clientManager, times(1)).authorize(any(OAuth2AuthorizeRequest.class));
+        assertThat(checks("performed")).isEqualTo(1);
+        assertThat(checks("shared")).isEqualTo(1);
+
+        refresh.tryEmitError(new IllegalStateException("refresh failed"));
+        assertThatThrownBy(first::block).hasMessage("refresh failed");
+        assertThatThrownBy(second::block).hasMessage("refresh failed");
+
+        // the failed refresh is not shared with the next request
+        when(clientManager.authorize(any(OAuth2AuthorizeRequest.class)))
+            .thenReturn(Mono.just(authorizedClient(Instant.now().plus(Duration.ofHours(1)))));
+        filter.filter(exchange(), chain).block();
+        verify(clientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+    }
+
+    @Test
+    void testAnonymousRequestIsNotChecked() {
+        filter.filter(MockServerWebExchange.builder(MockServerHttpRequest.get("/api/posts")).session(session).build(), chain).block();
+
+        verify(clientManager, never()).authorize(any(OAuth2AuthorizeRequest.class));
+    }
+
+    private ServerWebExchange exchange() {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(
+            new DefaultOAuth2User(authorities, Map.of("sub", "user"), "sub"),
+            authorities,
+            CLIENT_REGISTRATION.getRegistrationId()
+        );
+        return MockServerWebExchange
+            .builder(MockServerHttpRequest.get("/api/posts"))
+            .session(session)
+            .build()
+            .mutate()
+            .principal(Mono.just(authentication))
+            .build();
+    }
+
+    private static OAuth2AuthorizedClient authorizedClient(Instant expiresAt) {
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(
+            OAuth2AccessToken.TokenType.BEARER,
+            "access-token",
+            expiresAt.minus(Duration.ofHours(1)),
+            expiresAt
+        );
+        return new OAuth2AuthorizedClient(CLIENT_REGISTRATION, "user", accessToken);
+    }
+
+    private double checks(String result) {
+        return meterRegistry.counter("oauth2.token.refresh.checks", "result", result).count();
+    }
+}
@@ -0,0 +1,89 @@
+package com.qacm.test.web.rest;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import com.qacm.test.IntegrationTest;
+import com.qacm.test.domain.Post;
+import com.qacm.test.repository.PostRepository;
+import com.qacm.test.service.CacheInvalidationService;
+import com.qacm.test.service.dto.CacheInvalidationDTO;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link CacheInvalidationResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class CacheInvalidationResourceIT {
+
+    private static final String UPDATED_TITLE = "BBBBBBBBBB";
+
+    private static final String TOKEN = "test-token";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Post post;
+
+    @BeforeEach
+    public void initTest() {
+        postRepository.deleteAll().block();
+        post = postRepository.save(PostResourceIT.createEntity()).block();
+    }
+
+    @Test
+    void invalidateCaches() throws Exception {
+        // Cache the post, then update it as another instance would
+        getPost().jsonPath("$.title").value(is(post.getTitle()));
+        postRepository.save(post.title(UPDATED_TITLE)).block();
+        getPost().jsonPath("$.title").value(not(UPDATED_TITLE));
+
+        webTestClient
+            .post()
+            .uri("/management/cache-invalidations")
+            .header(CacheInvalidationService.TOKEN_HEADER, TOKEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(new CacheInvalidationDTO("post", post.getId()))))
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        getPost().jsonPath("$.title").value(is(UPDATED_TITLE));
+    }
+
+    @Test
+    void invalidateCachesWithInvalidToken() throws Exception {
+        webTestClient
+            .post()
+            .uri("/management/cache-invalidations")
+            .header(CacheInvalidationService.TOKEN_HEADER, "invalid-token")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(new CacheInvalidationDTO("post", post.getId()))))
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
+
+    private WebTestClient.BodyContentSpec getPost() {
+        return webTestClient
+            .get()
+            .uri("/api/posts/{id}", post.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody();
+    }
+}
@@ -1,6 +1,7 @@
 package com.qacm.test.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
@@ -10,12 +11,17 @@ import com.qacm.test.IntegrationTest;
 import com.qacm.test.domain.Comment;
 import com.qacm.test.domain.Post;
 import com.qacm.test.repository.CommentRepository;
+import com.qacm.test.repository.PostRepository;
 import com.qacm.test.service.CommentService;
+import com.qacm.test.service.dto.BulkOperationDTO;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,8 +31,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -49,9 +57,14 @@ class CommentResourceIT {
     private static final String ENTITY_API_URL = "/api/comments";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>; rel=\"next\"");
+
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private PostRepository postRepository;
+
     @Mock
     private CommentRepository commentRepositoryMock;
 
@@ -194,6 +207,85 @@ class CommentResourceIT {
             .value(hasItem(DEFAULT_CREAION_DATE.toString()));
     }
 
+    @Test
+    void getPostComments() {
+        // Initialize the database
+        Comment first = commentRepository.save(createEntity()).block();
+        Comment second = commentRepository.save(createEntity()).block();
+        Comment third = commentRepository.save(createEntity()).block();
+        Comment otherPostComment = createEntity();
+        otherPostComment.getPost().setId("other-post-id");
+        commentRepository.save(otherPostComment).block();
+
+        // Get the first page of the comments of the post
+        String link = webTestClient
+            .get()
+            .uri("/api/posts/{postId}/comments?size=2&sort=id,asc", first.getPost().getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(contains(first.getId(), second.getId()))
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"").doesNotContain("rel=\"prev\"");
+
+        // Stream all the comments of the post
+        List<Comment> comments = webTestClient
+            .get()
+            .uri("/api/posts/{postId}/comments?sort=id,asc", first.getPost().getId())
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Comment.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+        assertThat(comments).extracting(Comment::getId).containsExactly(first.getId(), second.getId(), third.getId());
+    }
+
+    @Test
+    void getAllCommentsByCursor() {
+        // Initialize the database, with creation dates shared by several comments
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Comment saved = commentRepository.save(createEntity().creaionDate(DEFAULT_CREAION_DATE.plusDays(i / 3))).block();
+            expectedIds.add(saved.getId());
+        }
+        // Ids are generated in increasing order, so they order the comments of a same date like the keyset does
+
+        // Walk the pages of the commentList with the returned cursors
+        List<String> ids = new ArrayList<>();
+        String uri = ENTITY_API_URL + "?size=3&sort=creaionDate,asc&after=";
+        int pages = 0;
+        while (uri != null) {
+            EntityExchangeResult<List<Comment>> result = webTestClient
+                .get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBodyList(Comment.class)
+                .returnResult();
+            result.getResponseBody().forEach(entity -> ids.add(entity.getId()));
+            Matcher next = NEXT_LINK.matcher(result.getResponseHeaders().getFirst(HttpHeaders.LINK));
+            uri = next.find() ? next.group(1) : null;
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).doesNotHaveDuplicates().containsExactlyElementsOf(expectedIds);
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllCommentsWithEagerRelationshipsIsEnabled() {
         when(commentServiceMock.findAllWithEagerRelationships(any())).thenReturn(Flux.empty());
@@ -236,6 +328,37 @@ class CommentResourceIT {
             .value(is(DEFAULT_CREAION_DATE.toString()));
     }
 
+    @Test
+    void getCommentWithPostLoadedFromPosts() {
+        // Initialize the database
+        commentRepository.save(comment).block();
+        Post post = PostResourceIT.createUpdatedEntity();
+        post.setId(comment.getPost().getId());
+        postRepository.save(post).block();
+
+        try {
+            // Get the comment
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL_ID, comment.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.post.id")
+                .value(is(post.getId()))
+                .jsonPath("$.post.title")
+                .value(is(post.getTitle()))
+                .jsonPath("$.post.required")
+                .value(is(post.getRequired()))
+                .jsonPath("$.post.creator")
+                .doesNotExist();
+        } finally {
+            postRepository.delete(post).block();
+        }
+    }
+
     @Test
     void getNonExistingComment() {
         // Get the comment
@@ -456,6 +579,52 @@ class CommentResourceIT {
         assertThat(commentList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void bulkComments() throws Exception {
+        // Initialize the database
+        Post post = postRepository.save(PostResourceIT.createEntity()).block();
+        Comment updatedComment = commentRepository.save(createEntity().post(post)).block();
+        Comment deletedComment = commentRepository.save(createEntity().post(post)).block();
+
+        Comment newComment = createUpdatedEntity().post(new Post().id(post.getId()));
+        updatedComment.setText(UPDATED_TEXT);
+        Comment invalidComment = createUpdatedEntity().creaionDate(null);
+        List<BulkOperationDTO<Comment>> operations = List.of(
+            new BulkOperationDTO<>(BulkOperationDTO.Op.CREATE, null, newComment),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.UPDATE, null, updatedComment),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.DELETE, deletedComment.getId(), null),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.CREATE, null, invalidComment)
+        );
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(operations))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .value(contains(0, 1, 2, 3))
+            .jsonPath("$.[*].status")
+            .value(contains(201, 200, 204, 400))
+            .jsonPath("$.[1].id")
+            .value(is(updatedComment.getId()))
+            .jsonPath("$.[3].error")
+            .value(is("creaionDate must not be null"));
+
+        // Validate the Comments in the database
+        List<Comment> commentList = commentRepository.findAll().collectList().block();
+        assertThat(commentList).hasSize(2);
+        assertThat(commentList).extracting(Comment::getId).contains(updatedComment.getId()).doesNotContain(deletedComment.getId());
+        assertThat(commentList).allSatisfy(testComment -> {
+            assertThat(testComment.getText()).isEqualTo(UPDATED_TEXT);
+            assertThat(testComment.getPost().getTitle()).isEqualTo(post.getTitle());
+        });
+    }
+
     @Test
     void deleteComment() {
         // Initialize the database
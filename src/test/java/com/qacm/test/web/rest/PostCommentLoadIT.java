@@ -0,0 +1,329 @@
+package com.qacm.test.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.qacm.test.TestApp;
+import com.qacm.test.config.EmbeddedMongo;
+import com.qacm.test.config.TestSecurityConfiguration;
+import com.qacm.test.domain.Comment;
+import com.qacm.test.domain.Post;
+import com.qacm.test.repository.CommentRepository;
+import com.qacm.test.repository.PostRepository;
+import com.qacm.test.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load test of the {@link PostResource} and {@link CommentResource} REST controllers, through the HTTP server and the MongoDB
+ * test container, with the JWT decoder of {@link TestSecurityConfiguration} mocked to accept a bearer token.
+ * <p>
+ * It is skipped unless run with {@code -Dloadtest=true}, for example with
+ * {@code ./mvnw verify -Dloadtest=true -Dit.test=PostCommentLoadIT -Dtest=NoTest -Dsurefire.failIfNoSpecifiedTests=false}, and
+ * is configured with the system properties:
+ * <ul>
+ *     <li>{@code loadtest.concurrency}: the number of requests in flight, 16 by default;</li>
+ *     <li>{@code loadtest.warmup}: the duration of the warm-up, whose requests are not measured, {@code PT10S} by default;</li>
+ *     <li>{@code loadtest.duration}: the duration of the measurement, {@code PT30S} by default;</li>
+ *     <li>{@code loadtest.write-ratio}: the share of the requests creating a post or a comment, 0.2 by default;</li>
+ *     <li>{@code loadtest.posts}: the number of posts created before the test, 100 by default.</li>
+ * </ul>
+ * The latency percentiles and the throughput of each operation are logged and written with the allocation rate to
+ * {@code target/load-test-result.json}. The allocation rate is the one of the whole JVM, load generator included.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(classes = { TestApp.class, TestSecurityConfiguration.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedMongo
+class PostCommentLoadIT {
+
+    private static final String TOKEN = "load-test-token";
+
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.95, 0.99, 0.999 };
+
+    private final Logger log = LoggerFactory.getLogger(PostCommentLoadIT.class);
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+
+    private final double writeRatio = Double.parseDouble(System.getProperty("loadtest.write-ratio", "0.2"));
+
+    private final int postCount = Integer.getInteger("loadtest.posts", 100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveJwtDecoder jwtDecoder;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private List<String> postIds;
+
+    private ConnectionProvider connectionProvider;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    public void initTest() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt
+            .withTokenValue(TOKEN)
+            .header("alg", "none")
+            .subject("load-test")
+            .claim("preferred_username", "load-test")
+            .claim("groups", List.of(AuthoritiesConstants.USER))
+            .issuedAt(now)
+            .expiresAt(now.plus(Duration.ofDays(1)))
+            .build();
+        when(jwtDecoder.decode(TOKEN)).thenReturn(Mono.just(jwt));
+
+        commentRepository.deleteAll().block();
+        postRepository.deleteAll().block();
+        postIds =
+            postRepository
+                .saveAll(IntStream.range(0, postCount).mapToObj(this::post).collect(Collectors.toList()))
+                .map(Post::getId)
+                .collectList()
+                .block();
+        commentRepository
+            .saveAll(postIds.stream().map(postId -> comment(new Post().id(postId))).collect(Collectors.toList()))
+            .blockLast();
+
+        connectionProvider = ConnectionProvider.builder("load-test").maxConnections(concurrency).build();
+        webClient =
+            WebClient
+                .builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .baseUrl("http://localhost:" + port + "/api")
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                .build();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        connectionProvider.dispose();
+        commentRepository.deleteAll().block();
+        postRepository.deleteAll().block();
+    }
+
+    @Test
+    void mixedReadWriteTraffic() throws Exception {
+        log.info("Warming up {} concurrent requests for {}", concurrency, warmup);
+        run(warmup, new SimpleMeterRegistry());
+
+        log.info("Measuring {} concurrent requests for {}", concurrency, duration);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        long allocatedBytes = allocatedBytes();
+        long start = System.nanoTime();
+        Map<Operation, Stats> stats = run(duration, meterRegistry);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double allocationRate = (allocatedBytes() - allocatedBytes) / seconds;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", seconds);
+        result.put("writeRatio", writeRatio);
+        result.put("allocationRateBytesPerSecond", allocationRate);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Map<String, Object> operationResult = entry.getValue().toResult(seconds);
+            operations.put(entry.getKey().name(), operationResult);
+            requests += entry.getValue().timer.count();
+            errors += (long) entry.getValue().errors.count();
+            log.info("{}: {}", entry.getKey(), operationResult);
+        }
+        result.put("throughputPerSecond", requests / seconds);
+        result.put("errors", errors);
+        result.put("operations", operations);
+        log.info(
+            "{} requests, {} errors, {} requests/s, {} MB/s allocated",
+            requests,
+            errors,
+            String.format("%.1f", requests / seconds),
+            String.format("%.1f", allocationRate / (1024 * 1024))
+        );
+
+        Path resultFile = Paths.get("target", "load-test-result.json");
+        Files.createDirectories(resultFile.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), result);
+
+        assertThat(requests).isPositive();
+        assertThat(errors).isZero();
+    }
+
+    /**
+     * Send requests from {@code concurrency} workers until the duration elapsed, each worker sending its next request when its
+     * previous one completed.
+     */
+    private Map<Operation, Stats> run(Duration runDuration, SimpleMeterRegistry meterRegistry) {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats(operation, meterRegistry, runDuration));
+        }
+        long deadline = System.nanoTime() + runDuration.toNanos();
+        Flux
+            .range(0, concurrency)
+            .flatMap(worker -> Mono.defer(() -> send(stats.get(nextOperation()))).repeat(() -> System.nanoTime() < deadline), concurrency)
+            .blockLast(runDuration.plus(Duration.ofMinutes(1)));
+        return stats;
+    }
+
+    private Operation nextOperation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < writeRatio) {
+            return random.nextBoolean() ? Operation.CREATE_POST : Operation.CREATE_COMMENT;
+        }
+        Operation[] reads = { Operation.GET_POSTS, Operation.GET_POST, Operation.GET_POST_COMMENTS, Operation.GET_COMMENTS };
+        return reads[random.nextInt(reads.length)];
+    }
+
+    private Mono<Integer> send(Stats stats) {
+        String postId = postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+        WebClient.RequestHeadersSpec<?> request;
+        switch (stats.operation) {
+            case GET_POSTS:
+                request = webClient.get().uri("/posts?size=20");
+                break;
+            case GET_POST:
+                request = webClient.get().uri("/posts/{id}", postId);
+                break;
+            case GET_POST_COMMENTS:
+                request = webClient.get().uri("/posts/{postId}/comments?size=20", postId);
+                break;
+            case GET_COMMENTS:
+                request = webClient.get().uri("/comments?size=20");
+                break;
+            case CREATE_POST:
+                request = webClient.post().uri("/posts").bodyValue(post(ThreadLocalRandom.current().nextInt()));
+                break;
+            default:
+                request = webClient.post().uri("/comments").bodyValue(comment(new Post().id(postId)));
+        }
+        long start = System.nanoTime();
+        return request
+            .exchangeToMono(response -> response.releaseBody().thenReturn(response.rawStatusCode()))
+            .onErrorReturn(0)
+            .doOnNext(status -> {
+                stats.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (status < 200 || status >= 300) {
+                    stats.errors.increment();
+                }
+            });
+    }
+
+    private Post post(int index) {
+        return new Post().title("Load test post " + index).required("required").creationDate(LocalDate.now());
+    }
+
+    private Comment comment(Post post) {
+        return new Comment().text("Load test comment").creaionDate(LocalDate.now()).post(post);
+    }
+
+    /**
+     * Get the bytes allocated by the live threads. The counts of the threads that terminate in between are lost, which the
+     * long-lived event loop threads make negligible.
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    private enum Operation {
+        GET_POSTS,
+        GET_POST,
+        GET_POST_COMMENTS,
+        GET_COMMENTS,
+        CREATE_POST,
+        CREATE_COMMENT,
+    }
+
+    private static final class Stats {
+
+        private final Operation operation;
+
+        private final Timer timer;
+
+        private final Counter errors;
+
+        private Stats(Operation operation, SimpleMeterRegistry meterRegistry, Duration runDuration) {
+            this.operation = operation;
+            this.timer =
+                Timer
+                    .builder("load.request")
+                    .tag("operation", operation.name())
+                    .publishPercentiles(PERCENTILES)
+                    // keep the whole run in the percentiles
+                    .distributionStatisticExpiry(runDuration.plus(Duration.ofMinutes(1)))
+                    .distributionStatisticBufferLength(1)
+                    .register(meterRegistry);
+            this.errors = meterRegistry.counter("load.errors", "operation", operation.name());
+        }
+
+        private Map<String, Object> toResult(double seconds) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", snapshot.count());
+            result.put("errors", (long) errors.count());
+            result.put("throughputPerSecond", snapshot.count() / seconds);
+            result.put("meanMillis", snapshot.mean(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                result.put("p" + (percentile.percentile() * 100) + "Millis", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            result.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+            return result;
+        }
+    }
+}
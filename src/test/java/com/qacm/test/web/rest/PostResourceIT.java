@@ -1,6 +1,7 @@
 package com.qacm.test.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
@@ -9,13 +10,19 @@ import static org.springframework.security.test.web.reactive.server.SecurityMock
 import com.qacm.test.IntegrationTest;
 import com.qacm.test.domain.Post;
 import com.qacm.test.domain.User;
+import com.qacm.test.domain.UserSummary;
 import com.qacm.test.repository.PostRepository;
+import com.qacm.test.repository.UserRepository;
 import com.qacm.test.service.PostService;
+import com.qacm.test.service.dto.BulkOperationDTO;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,9 +30,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
@@ -55,6 +65,9 @@ class PostResourceIT {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Mock
     private PostRepository postRepositoryMock;
 
@@ -77,7 +90,7 @@ class PostResourceIT {
         // Add required entity
         User user = UserResourceIT.createEntity();
         user.setId("fixed-id-for-tests");
-        post.setCreator(user);
+        post.setCreator(UserSummary.of(user));
         return post;
     }
 
@@ -92,7 +105,7 @@ class PostResourceIT {
         // Add required entity
         User user = UserResourceIT.createEntity();
         user.setId("fixed-id-for-tests");
-        post.setCreator(user);
+        post.setCreator(UserSummary.of(user));
         return post;
     }
 
@@ -127,6 +140,10 @@ class PostResourceIT {
         assertThat(testPost.getTitle()).isEqualTo(DEFAULT_TITLE);
         assertThat(testPost.getRequired()).isEqualTo(DEFAULT_REQUIRED);
         assertThat(testPost.getCreationDate()).isEqualTo(DEFAULT_CREATION_DATE);
+        assertThat(testPost.getCreatedBy()).isNotNull();
+        assertThat(testPost.getCreatedDate()).isNotNull();
+        assertThat(testPost.getLastModifiedBy()).isNotNull();
+        assertThat(testPost.getLastModifiedDate()).isNotNull();
     }
 
     @Test
@@ -177,6 +194,191 @@ class PostResourceIT {
             .value(hasItem(DEFAULT_CREATION_DATE.toString()));
     }
 
+    @Test
+    void getAllPostsByCursor() {
+        // Initialize the database
+        Post first = postRepository.save(createEntity()).block();
+        Post second = postRepository.save(createEntity()).block();
+        Post third = postRepository.save(createEntity()).block();
+
+        // Get the first page of the postList
+        String link = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=2&sort=id,asc&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(contains(first.getId(), second.getId()))
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LINK);
+        Matcher next = Pattern.compile("<([^>]*)>; rel=\"next\"").matcher(link);
+        assertThat(next.find()).isTrue();
+
+        // Follow the cursor to the last page
+        link =
+            webTestClient
+                .get()
+                .uri(next.group(1))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.[*].id")
+                .value(contains(third.getId()))
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(HttpHeaders.LINK);
+        assertThat(link).doesNotContain("rel=\"next\"").contains("rel=\"prev\"");
+    }
+
+    @Test
+    void getAllPostsWithoutTotalCount() {
+        // Initialize the database
+        Post first = postRepository.save(createEntity()).block();
+        Post second = postRepository.save(createEntity()).block();
+
+        // Get the first page of the postList
+        String link = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=1&sort=id,asc")
+            .header("X-Total-Count", "skip")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(contains(first.getId()))
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"").doesNotContain("rel=\"last\"");
+
+        // Get the last page of the postList
+        link =
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?page=1&size=1&sort=id,asc")
+                .header("X-Total-Count", "skip")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.[*].id")
+                .value(contains(second.getId()))
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(HttpHeaders.LINK);
+        assertThat(link).doesNotContain("rel=\"next\"").contains("rel=\"prev\"");
+    }
+
+    @Test
+    void getAllPostsAsStream() {
+        // Initialize the database
+        Post first = postRepository.save(createEntity()).block();
+        Post second = postRepository.save(createEntity()).block();
+
+        // Stream all the posts
+        List<Post> posts = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,asc")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "2")
+            .returnResult(Post.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+        assertThat(posts).extracting(Post::getId).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void getAllPostsAsEventStream() {
+        // Initialize the database
+        Post first = postRepository.save(createEntity()).block();
+        Post second = postRepository.save(createEntity()).block();
+
+        // Stream all the posts as events
+        List<ServerSentEvent<String>> events = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,asc")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+        assertThat(events).extracting(ServerSentEvent::event).containsExactly("post", "post", "count");
+        assertThat(events.get(0).data()).contains(first.getId());
+        assertThat(events.get(1).data()).contains(second.getId());
+        assertThat(events.get(2).data()).isEqualTo("2");
+
+        // Resume the stream after the first post
+        List<ServerSentEvent<String>> resumedEvents = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,asc")
+            .header("Last-Event-ID", events.get(0).id())
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+        assertThat(resumedEvents).extracting(ServerSentEvent::event).containsExactly("post", "count");
+        assertThat(resumedEvents.get(0).data()).contains(second.getId());
+    }
+
+    @Test
+    void getLivePosts() {
+        // Follow the live posts, then create one
+        Flux<ServerSentEvent<String>> events = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/live")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+            .getResponseBody();
+        Post created = postRepository.save(createEntity()).block();
+
+        ServerSentEvent<String> event = events
+            .filter(e -> "post".equals(e.event()) && e.data().contains(created.getId()))
+            .blockFirst(Duration.ofSeconds(10));
+        assertThat(event).isNotNull();
+        assertThat(event.id()).isNotBlank();
+    }
+
+    @Test
+    void getAllPostsByCursorWithUnsupportedSort() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=title,asc&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllPostsWithEagerRelationshipsIsEnabled() {
         when(postServiceMock.findAllWithEagerRelationships(any())).thenReturn(Flux.empty());
@@ -221,6 +423,102 @@ class PostResourceIT {
             .value(is(DEFAULT_CREATION_DATE.toString()));
     }
 
+    @Test
+    void getPostWithCreatorRefreshedFromUser() {
+        // Initialize the database
+        postRepository.save(post).block();
+        User creator = UserResourceIT.createEntity();
+        creator.setId(post.getCreator().getId());
+        creator.setLogin("renamed");
+        userRepository.save(creator).block();
+
+        try {
+            // Get the post
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL_ID, post.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.creator.id")
+                .value(is(creator.getId()))
+                .jsonPath("$.creator.login")
+                .value(is("renamed"))
+                .jsonPath("$.creator.email")
+                .doesNotExist();
+        } finally {
+            userRepository.delete(creator).block();
+        }
+    }
+
+    @Test
+    void getAllPostsByCursorWithCreatorRefreshedFromUser() {
+        // Initialize the database
+        postRepository.save(post).block();
+        User creator = UserResourceIT.createEntity();
+        creator.setId(post.getCreator().getId());
+        creator.setLogin("renamed");
+        userRepository.save(creator).block();
+
+        try {
+            // Get the first page of the postList
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?sort=id,asc&after=&eagerload=true")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.[*].creator.login")
+                .value(contains("renamed"));
+        } finally {
+            userRepository.delete(creator).block();
+        }
+    }
+
+    @Test
+    void getPostAfterPartialUpdate() throws Exception {
+        // Initialize the database
+        postRepository.save(post).block();
+
+        // Get the post, which caches it
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, post.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.title")
+            .value(is(DEFAULT_TITLE));
+
+        // Update the post, which invalidates the cached post
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, post.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(TestUtil.convertObjectToJsonBytes(new Post().id(post.getId()).title(UPDATED_TITLE)))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // Get the updated post
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, post.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.title")
+            .value(is(UPDATED_TITLE));
+    }
+
     @Test
     void getNonExistingPost() {
         // Get the post
@@ -262,6 +560,32 @@ class PostResourceIT {
         assertThat(testPost.getCreationDate()).isEqualTo(UPDATED_CREATION_DATE);
     }
 
+    @Test
+    void putPostWithStaleVersion() throws Exception {
+        // Initialize the database
+        postRepository.save(post).block();
+
+        // Update the post from a version that was modified since
+        Post stalePost = postRepository.findById(post.getId()).block();
+        postRepository.save(postRepository.findById(post.getId()).block().title(UPDATED_TITLE)).block();
+        stalePost.required(UPDATED_REQUIRED);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, stalePost.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(stalePost))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(409);
+
+        // Validate the Post in the database
+        Post testPost = postRepository.findById(post.getId()).block();
+        assertThat(testPost.getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(testPost.getRequired()).isEqualTo(DEFAULT_REQUIRED);
+        assertThat(testPost.getVersion()).isEqualTo(1L);
+    }
+
     @Test
     void putNonExistingPost() throws Exception {
         int databaseSizeBeforeUpdate = postRepository.findAll().collectList().block().size();
@@ -442,6 +766,82 @@ class PostResourceIT {
         assertThat(postList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void bulkPosts() throws Exception {
+        // Initialize the database
+        postRepository.save(post).block();
+        Instant createdDate = postRepository.findById(post.getId()).block().getCreatedDate();
+
+        Post newPost = createUpdatedEntity();
+        Post updatedPost = createUpdatedEntity().id(post.getId());
+        List<BulkOperationDTO<Post>> operations = List.of(
+            new BulkOperationDTO<>(BulkOperationDTO.Op.CREATE, null, newPost),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.UPDATE, null, updatedPost),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.DELETE, "missing_id", null)
+        );
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(operations))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .value(contains(0, 1, 2))
+            .jsonPath("$.[*].status")
+            .value(contains(201, 200, 404))
+            .jsonPath("$.[1].id")
+            .value(is(post.getId()));
+
+        // Validate the Posts in the database
+        List<Post> postList = postRepository.findAll().collectList().block();
+        assertThat(postList).hasSize(2);
+        assertThat(postList).allSatisfy(testPost -> assertThat(testPost.getTitle()).isEqualTo(UPDATED_TITLE));
+        Post testPost = postRepository.findById(post.getId()).block();
+        assertThat(testPost.getRequired()).isEqualTo(UPDATED_REQUIRED);
+        assertThat(testPost.getCreationDate()).isEqualTo(UPDATED_CREATION_DATE);
+        assertThat(testPost.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(testPost.getLastModifiedBy()).isNotNull();
+    }
+
+    @Test
+    void bulkPostsWithDuplicateIds() throws Exception {
+        // Initialize the database
+        postRepository.save(post).block();
+
+        Post updatedPost = createUpdatedEntity().id(post.getId());
+        Post otherUpdatedPost = createEntity().id(post.getId());
+        List<BulkOperationDTO<Post>> operations = List.of(
+            new BulkOperationDTO<>(BulkOperationDTO.Op.UPDATE, null, updatedPost),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.UPDATE, null, otherUpdatedPost),
+            new BulkOperationDTO<>(BulkOperationDTO.Op.DELETE, post.getId(), null)
+        );
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(operations))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .value(contains(0, 1, 2))
+            .jsonPath("$.[*].status")
+            .value(contains(200, 409, 409));
+
+        // Validate the Post in the database
+        Post testPost = postRepository.findById(post.getId()).block();
+        assertThat(testPost).isNotNull();
+        assertThat(testPost.getTitle()).isEqualTo(UPDATED_TITLE);
+    }
+
     @Test
     void deletePost() {
         // Initialize the database
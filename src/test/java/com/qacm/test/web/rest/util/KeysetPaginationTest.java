@@ -0,0 +1,86 @@
+package com.qacm.test.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.qacm.test.domain.Post;
+import com.qacm.test.repository.Keyset;
+import com.qacm.test.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPagination} utility class.
+ */
+class KeysetPaginationTest {
+
+    private static final KeysetPagination<Post> PAGINATION = new KeysetPagination<>(
+        "post",
+        Post::getId,
+        KeysetPagination.Property.of("creationDate", LocalDate::parse, Post::getCreationDate)
+    );
+
+    @Test
+    void testFirstPageKeyset() {
+        Keyset keyset = PAGINATION.parseKeyset(Sort.by(Sort.Direction.DESC, "creationDate", "id"), "", null);
+
+        assertThat(keyset.isFirst()).isTrue();
+        assertThat(keyset.isBackward()).isFalse();
+        assertThat(keyset.getProperty()).isEqualTo("creationDate");
+        assertThat(keyset.getDirection()).isEqualTo(Sort.Direction.DESC);
+    }
+
+    @Test
+    void testIdKeysetByDefault() {
+        Keyset keyset = PAGINATION.parseKeyset(Sort.unsorted(), "", null);
+
+        assertThat(keyset.getProperty()).isNull();
+        assertThat(keyset.getDirection()).isEqualTo(Sort.Direction.ASC);
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        List<Post> rows = List.of(post("a", 1), post("b", 2), post("c", 3));
+        Keyset first = PAGINATION.parseKeyset(Sort.by("creationDate"), "", null);
+
+        HttpHeaders headers = PAGINATION.generateKeysetHttpHeaders(UriComponentsBuilder.fromUriString("/api/posts?size=2"), first, rows, 2);
+
+        String link = headers.getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"").contains("rel=\"first\"").doesNotContain("rel=\"prev\"");
+        String cursor = link.substring(link.indexOf("after=") + "after=".length(), link.indexOf('>'));
+        Keyset next = PAGINATION.parseKeyset(Sort.by("creationDate"), cursor, null);
+        assertThat(next.getId()).isEqualTo("b");
+        assertThat(next.getValue()).isEqualTo(LocalDate.ofEpochDay(2));
+        assertThat(PAGINATION.getContent(first, rows, 2)).extracting(Post::getId).containsExactly("a", "b");
+    }
+
+    @Test
+    void testBackwardPageIsReversed() {
+        Keyset before = Keyset.before(null, Sort.Direction.ASC, null, "d");
+
+        assertThat(PAGINATION.getContent(before, List.of(post("c", 3), post("b", 2), post("a", 1)), 2))
+            .extracting(Post::getId)
+            .containsExactly("b", "c");
+    }
+
+    @Test
+    void testUnsupportedSort() {
+        assertThatThrownBy(() -> PAGINATION.parseKeyset(Sort.by("title"), "", null)).isInstanceOf(BadRequestAlertException.class);
+        assertThatThrownBy(() -> PAGINATION.parseKeyset(Sort.by("creationDate", "title"), "", null))
+            .isInstanceOf(BadRequestAlertException.class);
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> PAGINATION.parseKeyset(Sort.unsorted(), "not a cursor", null)).isInstanceOf(BadRequestAlertException.class);
+        assertThatThrownBy(() -> PAGINATION.parseKeyset(Sort.unsorted(), "", "")).isInstanceOf(BadRequestAlertException.class);
+    }
+
+    private static Post post(String id, long epochDay) {
+        return new Post().id(id).creationDate(LocalDate.ofEpochDay(epochDay));
+    }
+}